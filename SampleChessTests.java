@@ -93,9 +93,10 @@ class SampleChessTests
 	void checkForPieceHasMoved()
 	{
 		ChessPiece bq = factory.makePiece(BLACKQUEEN);
-		assertFalse(bq.hasMoved());
-		bq.setHasMoved();
-		assertTrue(bq.hasMoved());
+		board.putPieceAt(bq, makeCoordinate(8, 4));
+		assertFalse(board.hasMoved(makeCoordinate(8, 4)));
+		board.setHasMoved(makeCoordinate(8, 4));
+		assertTrue(board.hasMoved(makeCoordinate(8, 4)));
 	}
 	
 	/**
@@ -130,10 +131,10 @@ class SampleChessTests
         Coordinate rookCoord = initializers.get(1).getSquare();
         ChessPiece king = (ChessPiece)board.getPieceAt(kingCoord);
         if (kingMoved) {
-            ((ChessPiece)board.getPieceAt(kingCoord)).setHasMoved();
+            board.setHasMoved(kingCoord);
         }
         if (rookMoved) {
-            ((ChessPiece)board.getPieceAt(rookCoord)).setHasMoved();
+            board.setHasMoved(rookCoord);
         }
         assertEquals(expected, king.canMove(kingCoord, to, board));
     }
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Entry point of benchmarks.jar. With no arguments, every benchmark in this
+ * package is run with the gc profiler so that the report shows allocation
+ * rates next to throughput. With arguments, they are handed to JMH as they
+ * are, e.g. "CanMove -p position=MIDDLEGAME -prof gc".
+ * @version Oct 18, 2026
+ */
+public class BenchmarkMain
+{
+	/**
+	 * @param args JMH command line arguments
+	 * @throws Exception if JMH cannot run
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length > 0) {
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+		Options options = new OptionsBuilder()
+				.include(BenchmarkMain.class.getPackage().getName() + ".*")
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.bench;
+
+import static gpv.util.Coordinate.makeCoordinate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import gpv.Piece;
+import gpv.util.*;
+
+/**
+ * Measures the basic Board operations on a middlegame position.
+ * @version Oct 18, 2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark
+{
+	@Param({"false", "true"})
+	public boolean bitboard;
+	
+	private Board board;
+	private List<SquareInitializer> initializers;
+	private Coordinate occupied;
+	private Coordinate empty;
+	private Piece piece;
+	
+	@Setup
+	public void setup()
+	{
+		initializers = Positions.MIDDLEGAME.initializers();
+		board = Positions.MIDDLEGAME.makeBoard(bitboard);
+		occupied = makeCoordinate(1, 4);
+		empty = makeCoordinate(4, 5);
+		piece = board.getPieceAt(occupied);
+	}
+	
+	@Benchmark
+	public Piece getPieceAt()
+	{
+		return board.getPieceAt(occupied);
+	}
+	
+	@Benchmark
+	public Piece putPieceAt()
+	{
+		// Put the piece on an empty square and take it off again
+		board.putPieceAt(piece, empty);
+		return board.putPieceAt(null, empty);
+	}
+	
+	@Benchmark
+	public Board reset()
+	{
+		board.reset(initializers);
+		return board;
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.bench;
+
+import static gpv.util.Coordinate.makeCoordinate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import gpv.chess.*;
+import gpv.util.*;
+
+/**
+ * Measures ChessPiece.canMove for one white piece of each kind, asked about
+ * every square of the board. The target coordinates are built during setup
+ * so only the validation itself is measured.
+ * @version Oct 18, 2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanMoveBenchmark
+{
+	@Param({"PAWN", "ROOK", "KNIGHT", "BISHOP", "QUEEN", "KING"})
+	public PieceName name;
+	
+	@Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+	public Positions position;
+	
+	@Param({"false", "true"})
+	public boolean bitboard;
+	
+	private Board board;
+	private ChessPiece piece;
+	private Coordinate from;
+	private Coordinate[] targets;
+	private int fromIndex;
+	private int[] targetIndices;
+	
+	@Setup
+	public void setup()
+	{
+		board = position.makeBoard(bitboard);
+		from = Positions.find(board, name);
+		piece = (ChessPiece) board.getPieceAt(from);
+		targets = new Coordinate[64];
+		targetIndices = new int[64];
+		for (int i = 0; i < 64; i++) {
+			targets[i] = makeCoordinate(i / 8 + 1, i % 8 + 1);
+			targetIndices[i] = board.squareIndex(i / 8 + 1, i % 8 + 1);
+		}
+		fromIndex = board.squareIndex(from.getRow(), from.getColumn());
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(64)
+	public void canMoveToEverySquare(Blackhole bh)
+	{
+		for (Coordinate to : targets) {
+			bh.consume(piece.canMove(from, to, board));
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(64)
+	public void canMoveBySquareIndex(Blackhole bh)
+	{
+		for (int to : targetIndices) {
+			bh.consume(piece.canMove(fromIndex, to, board));
+		}
+	}
+	
+	@Benchmark
+	public int[] generateMoves()
+	{
+		return piece.generateMoves(from, board);
+	}
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.bench;
+
+import static gpv.util.Coordinate.makeCoordinate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import gpv.util.Coordinate;
+
+/**
+ * Measures Coordinate.makeCoordinate. The row and column are read from state
+ * so that the JIT cannot fold the call away.
+ * @version Oct 18, 2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoordinateBenchmark
+{
+	public int row = 4;
+	public int column = 5;
+	
+	@Benchmark
+	public Coordinate makeCoordinateOnBoard()
+	{
+		return makeCoordinate(row, column);
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.bench;
+
+import static gpv.util.Coordinate.makeCoordinate;
+import static gpv.util.SquareInitializer.makeSquareInitializer;
+import java.util.*;
+import gpv.chess.*;
+import gpv.util.*;
+
+/**
+ * Representative chess positions used by the benchmarks. Each layout lists
+ * the rows from 8 down to 1 with one character per column: upper case for
+ * white, lower case for black and '.' for an empty square.
+ * @version Oct 18, 2026
+ */
+public enum Positions
+{
+	OPENING(
+		"rnbqkbnr",
+		"pppppppp",
+		"........",
+		"........",
+		"........",
+		"........",
+		"PPPPPPPP",
+		"RNBQKBNR"),
+	MIDDLEGAME(
+		"r.bq.rk.",
+		"pp..bppp",
+		"..n.pn..",
+		"...p....",
+		"..PP....",
+		"..N.PN..",
+		"PP..BPPP",
+		"R..QKB.R"),
+	ENDGAME(
+		"........",
+		"...k....",
+		".p......",
+		"........",
+		"..B.N...",
+		"........",
+		"P..QK..R",
+		"........");
+	
+	private static final ChessPieceFactory factory = new ChessPieceFactory();
+	private final String[] rows;
+	
+	/**
+	 * @param rows the layout, from row 8 down to row 1
+	 */
+	private Positions(String... rows)
+	{
+		this.rows = rows;
+	}
+	
+	/**
+	 * @return initializers for every piece in the position
+	 */
+	public List<SquareInitializer> initializers()
+	{
+		List<SquareInitializer> initializers = new ArrayList<SquareInitializer>();
+		for (int i = 0; i < rows.length; i++) {
+			for (int column = 1; column <= 8; column++) {
+				ChessPieceDescriptor d = descriptor(rows[i].charAt(column - 1));
+				if (d != null) {
+					initializers.add(makeSquareInitializer(factory.makePiece(d), 
+							makeCoordinate(8 - i, column)));
+				}
+			}
+		}
+		return initializers;
+	}
+	
+	/**
+	 * Build a board holding the position.
+	 * @param bitboard true for a ChessBitboard, false for a plain Board
+	 * @return the board
+	 */
+	public Board makeBoard(boolean bitboard)
+	{
+		return bitboard ? new ChessBitboard(initializers()) : new Board(8, 8, initializers());
+	}
+	
+	/**
+	 * Find the first white piece with the given name.
+	 * @param b a board holding the position
+	 * @param name the piece name
+	 * @return the coordinate of the piece
+	 */
+	public static Coordinate find(Board b, PieceName name)
+	{
+		for (int row = 1; row <= 8; row++) {
+			for (int column = 1; column <= 8; column++) {
+				ChessPiece p = (ChessPiece) b.getPieceAt(makeCoordinate(row, column));
+				if (p != null && p.getColor() == PlayerColor.WHITE && p.getName() == name) {
+					return makeCoordinate(row, column);
+				}
+			}
+		}
+		throw new IllegalArgumentException("No white " + name);
+	}
+	
+	/**
+	 * @param c a layout character
+	 * @return the descriptor for c or null for an empty square
+	 */
+	private static ChessPieceDescriptor descriptor(char c)
+	{
+		switch (c) {
+			case 'P': return ChessPieceDescriptor.WHITEPAWN;
+			case 'R': return ChessPieceDescriptor.WHITEROOK;
+			case 'N': return ChessPieceDescriptor.WHITEKNIGHT;
+			case 'B': return ChessPieceDescriptor.WHITEBISHOP;
+			case 'Q': return ChessPieceDescriptor.WHITEQUEEN;
+			case 'K': return ChessPieceDescriptor.WHITEKING;
+			case 'p': return ChessPieceDescriptor.BLACKPAWN;
+			case 'r': return ChessPieceDescriptor.BLACKROOK;
+			case 'n': return ChessPieceDescriptor.BLACKKNIGHT;
+			case 'b': return ChessPieceDescriptor.BLACKBISHOP;
+			case 'q': return ChessPieceDescriptor.BLACKQUEEN;
+			case 'k': return ChessPieceDescriptor.BLACKKING;
+			default: return null;
+		}
+	}
+}
@@ -12,6 +12,7 @@
 
 package gpv;
 
+import java.util.Arrays;
 import gpv.util.*;
 
 /**
@@ -29,4 +30,55 @@ public interface Piece<D extends PieceDescriptor>
 	D getDescriptor();
 	
 	boolean canMove(Coordinate from, Coordinate to, Board b);
+	
+	/**
+	 * Determine whether the piece on one square can move to another, with the
+	 * squares given as square indices of b. This default makes coordinates
+	 * and calls the other canMove; implementations override it to validate
+	 * without making any objects.
+	 * @param from the square index of the piece
+	 * @param to the square index of the destination
+	 * @param b the board
+	 * @return true if the move can be made; false if either index is not a
+	 * 	square index of b
+	 * @see gpv.util.Board#squareIndex(int, int)
+	 */
+	default boolean canMove(int from, int to, Board b)
+	{
+		if (from < 0 || to < 0 || from >= b.squareCount() || to >= b.squareCount()) {
+			return false;
+		}
+		return canMove(Coordinate.makeCoordinate(b.rowOf(from), b.columnOf(from)),
+				Coordinate.makeCoordinate(b.rowOf(to), b.columnOf(to)), b);
+	}
+	
+	/**
+	 * Find, in one pass, every square that the piece on from can move to.
+	 * This is the set of squares for which canMove would return true, less
+	 * any square that is too far out on a very large board to have a square
+	 * index. This default asks canMove about every square of b in turn;
+	 * implementations override it with something faster.
+	 * @param from the square the piece is on
+	 * @param b the board
+	 * @return the reachable squares, as square indices of b
+	 * @see gpv.util.Board#squareIndex(int, int)
+	 */
+	default int[] generateMoves(Coordinate from, Board b)
+	{
+		int fromIx = b.squareIndex(from.getRow(), from.getColumn());
+		if (fromIx < 0) {
+			return new int[0];
+		}
+		int[] moves = new int[8];
+		int n = 0;
+		for (int to = 0, count = b.squareCount(); to < count; to++) {
+			if (canMove(fromIx, to, b)) {
+				if (n == moves.length) {
+					moves = Arrays.copyOf(moves, n * 2);
+				}
+				moves[n++] = to;
+			}
+		}
+		return Arrays.copyOf(moves, n);
+	}
 }
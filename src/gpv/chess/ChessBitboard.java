@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import java.util.*;
+import gpv.Piece;
+import gpv.util.*;
+
+/**
+ * A standard 8x8 chess board that, in addition to the squares kept by Board,
+ * maintains bitboards: one 64-bit occupancy mask per ChessPieceDescriptor, one
+ * per color and one for all pieces. Bit 0 is row 1, column 1 and bit 63 is
+ * row 8, column 8. The squares whose pieces have moved, which is all the
+ * first-move and castling state chess needs, are kept in one more mask.
+ * <br/>
+ * The masks are kept in sync by putPieceAt and reset, so the board can be used
+ * anywhere a Board is used. Only ChessPieces may be placed on it.
+ * <br/>
+ * The board also keeps an attack map per color: the squares attacked by at
+ * least one piece of that color, including squares held by its own pieces.
+ * Each square keeps the attacks of the piece on it and each target keeps a
+ * count of its attackers, so placing or removing a piece only recomputes that
+ * piece and the sliders whose rays pass through its square. Asking whether a
+ * square is attacked, or whether a king is in check, is then a mask test.
+ * @version Oct 18, 2026
+ */
+public class ChessBitboard extends Board
+{
+	public static final int SIZE = 8;
+	
+	private final long[] pieces = new long[ChessPieceDescriptor.values().length];
+	private final long[] colors = new long[PlayerColor.values().length];
+	private long occupied;
+	private long moved;
+	private final long[] attacksFrom = new long[SIZE * SIZE];
+	private final int[][] attackers = new int[PlayerColor.values().length][SIZE * SIZE];
+	private final long[] attacks = new long[PlayerColor.values().length];
+	
+	/**
+	 * Constructor for an empty 8x8 board.
+	 */
+	public ChessBitboard()
+	{
+		super(SIZE, SIZE);
+	}
+	
+	/**
+	 * Constructor that also initializes the board.
+	 * @param initializers
+	 */
+	public ChessBitboard(List<SquareInitializer> initializers)
+	{
+		this();
+		reset(initializers);
+	}
+	
+	/**
+	 * Convert a row and column into a bit index.
+	 * @param row from 1 to 8
+	 * @param column from 1 to 8
+	 * @return the bit index of the square or -1 if it is not on the board
+	 */
+	public static int square(int row, int column)
+	{
+		if (row < 1 || row > SIZE || column < 1 || column > SIZE) {
+			return -1;
+		}
+		return (row - 1) * SIZE + column - 1;
+	}
+	
+	/**
+	 * @param c the coordinate
+	 * @return the bit index of the coordinate or -1 if it is not on the board
+	 */
+	public static int square(Coordinate c)
+	{
+		return square(c.getRow(), c.getColumn());
+	}
+	
+	/*
+	 * @see gpv.util.Board#putPieceAt(gpv.Piece, gpv.util.Coordinate)
+	 */
+	@Override
+	public Piece putPieceAt(Piece p, Coordinate c)
+	{
+		Piece previous = super.putPieceAt(p, c);
+		int sq = square(c);
+		if (sq >= 0) {
+			long bit = 1L << sq;
+			moved &= ~bit;
+			if (previous != null) {
+				toggle((ChessPiece) previous, bit);
+				setAttacks(sq, ((ChessPiece) previous).getColor(), 0L);
+			}
+			if (p != null) {
+				toggle((ChessPiece) p, bit);
+				setAttacks(sq, ((ChessPiece) p).getColor(), attacksOf((ChessPiece) p, sq));
+			}
+			if ((previous == null) != (p == null)) {
+				updateSliders(sq);
+			}
+		}
+		return previous;
+	}
+	
+	/*
+	 * @see gpv.util.Board#reset(java.util.List)
+	 */
+	@Override
+	public void reset(List<SquareInitializer> initializers)
+	{
+		Arrays.fill(pieces, 0L);
+		Arrays.fill(colors, 0L);
+		occupied = 0L;
+		moved = 0L;
+		Arrays.fill(attacksFrom, 0L);
+		for (int[] counts : attackers) {
+			Arrays.fill(counts, 0);
+		}
+		Arrays.fill(attacks, 0L);
+		super.reset(initializers);
+	}
+	
+	/*
+	 * @see gpv.util.Board#isSpaceOccupied(int, int)
+	 */
+	@Override
+	public boolean isSpaceOccupied(int row, int column)
+	{
+		int sq = square(row, column);
+		return sq < 0 ? super.isSpaceOccupied(row, column) : (occupied & (1L << sq)) != 0;
+	}
+	
+	/*
+	 * @see gpv.util.Board#hasMoved(int, int)
+	 */
+	@Override
+	public boolean hasMoved(int row, int column)
+	{
+		int sq = square(row, column);
+		return sq < 0 ? super.hasMoved(row, column) : (moved & (1L << sq)) != 0;
+	}
+	
+	/*
+	 * @see gpv.util.Board#setHasMoved(gpv.util.Coordinate)
+	 */
+	@Override
+	public void setHasMoved(Coordinate c)
+	{
+		super.setHasMoved(c);
+		int sq = square(c);
+		if (sq >= 0) {
+			moved |= 1L << sq;
+		}
+	}
+	
+	/**
+	 * The geometry of a standard chess board is fixed.
+	 * @see gpv.util.Board#setnRows(int)
+	 */
+	@Override
+	public void setnRows(int nRows)
+	{
+		throw new UnsupportedOperationException("A chess bitboard is always 8x8");
+	}
+	
+	/**
+	 * @param d the piece descriptor
+	 * @return the squares occupied by pieces described by d
+	 */
+	public long getPieces(ChessPieceDescriptor d)
+	{
+		return pieces[d.ordinal()];
+	}
+	
+	/**
+	 * @param color the player color
+	 * @return the squares occupied by pieces of the given color
+	 */
+	public long getPieces(PlayerColor color)
+	{
+		return colors[color.ordinal()];
+	}
+	
+	/**
+	 * @return the squares occupied by any piece
+	 */
+	public long getOccupied()
+	{
+		return occupied;
+	}
+	
+	/**
+	 * @return the squares whose pieces have moved
+	 */
+	public long getMoved()
+	{
+		return moved;
+	}
+	
+	/**
+	 * @param color the attacking color
+	 * @return the squares attacked by at least one piece of the given color
+	 */
+	public long getAttacks(PlayerColor color)
+	{
+		return attacks[color.ordinal()];
+	}
+	
+	/**
+	 * @param square the bit index of the square
+	 * @return the squares attacked by the piece on the square, or 0 if it is empty
+	 */
+	public long getAttacksFrom(int square)
+	{
+		return attacksFrom[square];
+	}
+	
+	/**
+	 * @param square the bit index of the square
+	 * @param byColor the attacking color
+	 * @return true if a piece of the given color attacks the square
+	 */
+	public boolean isSquareAttacked(int square, PlayerColor byColor)
+	{
+		return (attacks[byColor.ordinal()] & (1L << square)) != 0;
+	}
+	
+	/**
+	 * @param c the coordinate
+	 * @param byColor the attacking color
+	 * @return true if a piece of the given color attacks the square, false if
+	 * 	it does not or the square is not on the board
+	 */
+	public boolean isSquareAttacked(Coordinate c, PlayerColor byColor)
+	{
+		int sq = square(c);
+		return sq >= 0 && isSquareAttacked(sq, byColor);
+	}
+	
+	/**
+	 * @param color the color of the king
+	 * @return true if a king of the given color is attacked by the other color
+	 */
+	public boolean isInCheck(PlayerColor color)
+	{
+		return color == PlayerColor.WHITE
+			? (pieces[ChessPieceDescriptor.WHITEKING.ordinal()] & attacks[PlayerColor.BLACK.ordinal()]) != 0
+			: (pieces[ChessPieceDescriptor.BLACKKING.ordinal()] & attacks[PlayerColor.WHITE.ordinal()]) != 0;
+	}
+	
+	/**
+	 * Compute the squares a piece attacks from a square on the current
+	 * occupancy. Pawns attack diagonally forward only; their pushes are
+	 * not attacks.
+	 * @param p the piece
+	 * @param sq the square it stands on
+	 * @return the attacked squares
+	 */
+	private long attacksOf(ChessPiece p, int sq)
+	{
+		switch (p.getName()) {
+			case PAWN:
+				return LeaperAttacks.pawnAttacks(p.getColor(), sq);
+			case KNIGHT:
+				return LeaperAttacks.knightAttacks(sq);
+			case KING:
+				return LeaperAttacks.kingAttacks(sq);
+			case BISHOP:
+				return SlidingAttacks.bishopAttacks(sq, occupied);
+			case ROOK:
+				return SlidingAttacks.rookAttacks(sq, occupied);
+			case QUEEN:
+				return SlidingAttacks.queenAttacks(sq, occupied);
+			default:
+				return 0L;
+		}
+	}
+	
+	/**
+	 * Recompute every slider whose rays pass through a square whose occupancy
+	 * just changed. The rays from the square itself do not depend on whether
+	 * it is occupied, so they find exactly those sliders.
+	 * @param sq the square
+	 */
+	private void updateSliders(int sq)
+	{
+		long queens = pieces[ChessPieceDescriptor.WHITEQUEEN.ordinal()]
+			| pieces[ChessPieceDescriptor.BLACKQUEEN.ordinal()];
+		long rooks = pieces[ChessPieceDescriptor.WHITEROOK.ordinal()]
+			| pieces[ChessPieceDescriptor.BLACKROOK.ordinal()] | queens;
+		long bishops = pieces[ChessPieceDescriptor.WHITEBISHOP.ordinal()]
+			| pieces[ChessPieceDescriptor.BLACKBISHOP.ordinal()] | queens;
+		long sliders = SlidingAttacks.rookAttacks(sq, occupied) & rooks
+			| SlidingAttacks.bishopAttacks(sq, occupied) & bishops;
+		for (; sliders != 0; sliders &= sliders - 1) {
+			int s = Long.numberOfTrailingZeros(sliders);
+			ChessPiece slider = (ChessPiece) getPieceAt(s / SIZE + 1, s % SIZE + 1);
+			setAttacks(s, slider.getColor(), attacksOf(slider, s));
+		}
+	}
+	
+	/**
+	 * Replace the attacks of the piece on a square, adjusting the attacker
+	 * counts and the color's attack map only where they differ.
+	 * @param sq the square
+	 * @param color the color of the piece on the square
+	 * @param next the squares it now attacks
+	 */
+	private void setAttacks(int sq, PlayerColor color, long next)
+	{
+		long previous = attacksFrom[sq];
+		attacksFrom[sq] = next;
+		int c = color.ordinal();
+		int[] counts = attackers[c];
+		for (long gone = previous & ~next; gone != 0; gone &= gone - 1) {
+			int t = Long.numberOfTrailingZeros(gone);
+			if (--counts[t] == 0) {
+				attacks[c] &= ~(1L << t);
+			}
+		}
+		for (long added = next & ~previous; added != 0; added &= added - 1) {
+			int t = Long.numberOfTrailingZeros(added);
+			if (counts[t]++ == 0) {
+				attacks[c] |= 1L << t;
+			}
+		}
+	}
+	
+	/**
+	 * Flip a square in the masks belonging to the piece.
+	 * @param p the piece being added or removed
+	 * @param bit the square
+	 */
+	private void toggle(ChessPiece p, long bit)
+	{
+		pieces[p.getDescriptor().ordinal()] ^= bit;
+		colors[p.getColor().ordinal()] ^= bit;
+		occupied ^= bit;
+	}
+}
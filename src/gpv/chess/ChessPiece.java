@@ -12,21 +12,23 @@
 
 package gpv.chess;
 
+import java.util.Arrays;
 import gpv.Piece;
 import gpv.util.*;
-import static gpv.util.Coordinate.makeCoordinate;
 
 /**
  * The chess piece is a piece with some special properties that are used for
  * determining whether a piece can move. It implements the Piece interface
  * and adds properties and methods that are necessary for the chess-specific
  * behavior.
+ * <br/>
+ * A ChessPiece is immutable. Whether it has moved is recorded by the board it
+ * is on, so one instance per descriptor can be shared by every board.
  * @version Feb 21, 2020
  */
 public class ChessPiece implements Piece<ChessPieceDescriptor>
 {
 	private final ChessPieceDescriptor descriptor;
-	private boolean hasMoved;	// true if this piece has moved
 	
 	/**
 	 * The only constructor for a ChessPiece instance. Requires a descriptor.
@@ -35,7 +37,6 @@ public class ChessPiece implements Piece<ChessPieceDescriptor>
 	public ChessPiece(ChessPieceDescriptor descriptor)
 	{
 		this.descriptor = descriptor;
-		hasMoved = false;
 	}
 
 	/*
@@ -69,13 +70,44 @@ public class ChessPiece implements Piece<ChessPieceDescriptor>
 	@Override
 	public boolean canMove(Coordinate from, Coordinate to, Board b)
 	{
-		int fromColumn = from.getColumn();
-		int toColumn = to.getColumn();
-		int fromRow = from.getRow();
-		int toRow = to.getRow();
-		
-		// Ensure Coordinate to is valid
-		if (toColumn < 1 || toColumn > 8 || toRow < 1 || toRow > 8)
+		if (b.isReachabilityCaching())
+		{
+			return b.canReach(from, to);
+		}
+		return validate(from.getRow(), from.getColumn(), to.getRow(), to.getColumn(), b);
+	}
+	
+	/**
+	 * Determine if a move is valid without making any objects.
+	 * @see gpv.Piece#canMove(int, int, gpv.util.Board)
+	 */
+	@Override
+	public boolean canMove(int from, int to, Board b)
+	{
+		if (from < 0 || to < 0 || from >= b.squareCount() || to >= b.squareCount())
+		{
+			return false;
+		}
+		if (b.isReachabilityCaching())
+		{
+			return b.canReach(from, to);
+		}
+		return validate(b.rowOf(from), b.columnOf(from), b.rowOf(to), b.columnOf(to), b);
+	}
+	
+	/**
+	 * Determine if a move is valid without consulting any cache on the board.
+	 * @param fromRow - the starting row
+	 * @param fromColumn - the starting column
+	 * @param toRow - the ending row
+	 * @param toColumn - the ending column
+	 * @param b - the board
+	 * @return true if the move can be made
+	 */
+	private boolean validate(int fromRow, int fromColumn, int toRow, int toColumn, Board b)
+	{
+		// Ensure the destination is valid
+		if (toColumn < 1 || toColumn > b.nColumns || toRow < 1 || toRow > b.nRows)
 		{
 			return false;
 		}
@@ -87,25 +119,32 @@ public class ChessPiece implements Piece<ChessPieceDescriptor>
 		}
 
 		// Check if trying to move to space already occupied by piece of same color
-		ChessPiece piece = (ChessPiece) b.getPieceAt(from);
-		if (b.isSpaceOccupied(to) && ((ChessPiece) b.getPieceAt(to)).getColor() == piece.getColor()) 
+		ChessPiece piece = (ChessPiece) b.getPieceAt(fromRow, fromColumn);
+		int fromSquare = ChessBitboard.square(fromRow, fromColumn);
+		if (b instanceof ChessBitboard && fromSquare >= 0)
+		{
+			long mask = moveMask(piece, fromSquare, (ChessBitboard) b);
+			return (mask & (1L << ChessBitboard.square(toRow, toColumn))) != 0;
+		}
+		ChessPiece other = (ChessPiece) b.getPieceAt(toRow, toColumn);
+		if (other != null && other.getColor() == piece.getColor()) 
 		{
 			return false;
 		}
 		
 		switch (piece.getName()) {
 			case BISHOP:
-				return checkValidMoveBishop(from, to, b);
+				return checkValidMoveBishop(fromRow, fromColumn, toRow, toColumn, b);
 			case KING:
-				return checkValidMoveKing(from, to);
+				return checkValidMoveKing(fromRow, fromColumn, toRow, toColumn);
 			case KNIGHT:
-				return checkValidMoveKnight(from, to, b);
+				return checkValidMoveKnight(fromRow, fromColumn, toRow, toColumn);
 			case PAWN:
-				return checkValidMovePawn(piece, from, to, b);
+				return checkValidMovePawn(piece, fromRow, fromColumn, toRow, toColumn, b);
 			case QUEEN:
-				return checkValidMoveQueen(from, to, b);
+				return checkValidMoveQueen(fromRow, fromColumn, toRow, toColumn, b);
 			case ROOK:
-				return checkValidMoveRook(from, to, b);
+				return checkValidMoveRook(fromRow, fromColumn, toRow, toColumn, b);
 			default:
 				break;
 			
@@ -113,334 +152,361 @@ public class ChessPiece implements Piece<ChessPieceDescriptor>
 		
 		return false;
 	}
-
+	
+	/*
+	 * @see gpv.Piece#generateMoves(gpv.util.Coordinate, gpv.util.Board)
+	 */
+	@Override
+	public int[] generateMoves(Coordinate from, Board b)
+	{
+		ChessPiece piece = (ChessPiece) b.getPieceAt(from);
+		if (piece == null)
+		{
+			return new int[0];
+		}
+		if (b instanceof ChessBitboard && ChessBitboard.square(from) >= 0)
+		{
+			long mask = moveMask(piece, ChessBitboard.square(from), (ChessBitboard) b);
+			int[] moves = new int[Long.bitCount(mask)];
+			for (int i = 0; mask != 0; i++, mask &= mask - 1)
+			{
+				int sq = Long.numberOfTrailingZeros(mask);
+				moves[i] = b.squareIndex(sq / 8 + 1, sq % 8 + 1);
+			}
+			return moves;
+		}
+		
+		switch (piece.getName()) {
+			case BISHOP:
+				return slide(piece, from, SlidingAttacks.BISHOP_DIRECTIONS, b);
+			case ROOK:
+				return slide(piece, from, SlidingAttacks.ROOK_DIRECTIONS, b);
+			case QUEEN:
+				return slide(piece, from, SlidingAttacks.QUEEN_DIRECTIONS, b);
+			case KING:
+				return leap(from, LeaperAttacks.KING_OFFSETS, b);
+			case KNIGHT:
+				return leap(from, LeaperAttacks.KNIGHT_OFFSETS, b);
+			case PAWN:
+				return leap(from, LeaperAttacks.PAWN_OFFSETS[piece.getColor().ordinal()], b);
+			default:
+				break;
+		}
+		return new int[0];
+	}
+	
 	/**
-	 * Determine if a rook's move is valid
+	 * Find, on a bitboard, every square that the piece on from can move to.
+	 * @param from - the starting coordinate, which must be on the board
+	 * @param b - the board
+	 * @return the reachable squares as a mask
+	 */
+	public long generateMoveMask(Coordinate from, ChessBitboard b)
+	{
+		ChessPiece piece = (ChessPiece) b.getPieceAt(from);
+		return piece == null ? 0L : moveMask(piece, ChessBitboard.square(from), b);
+	}
+	
+	/**
+	 * Compute, on a bitboard, the squares a piece can move to. Sliding pieces
+	 * are answered with a single lookup in the magic attack tables.
+	 * @param piece - the piece being moved
+	 * @param fromSquare - the bit index of the piece
+	 * @param b - the board
+	 * @return the squares the piece can reach
+	 */
+	static long moveMask(ChessPiece piece, int fromSquare, ChessBitboard b)
+	{
+		long targets;
+		switch (piece.getName()) {
+			case BISHOP:
+				targets = SlidingAttacks.bishopAttacks(fromSquare, b.getOccupied());
+				break;
+			case ROOK:
+				targets = SlidingAttacks.rookAttacks(fromSquare, b.getOccupied());
+				break;
+			case QUEEN:
+				targets = SlidingAttacks.queenAttacks(fromSquare, b.getOccupied());
+				break;
+			case KING:
+				targets = LeaperAttacks.kingAttacks(fromSquare);
+				break;
+			case KNIGHT:
+				targets = LeaperAttacks.knightAttacks(fromSquare);
+				break;
+			case PAWN:
+				targets = pawnMoves(piece, fromSquare, b);
+				break;
+			default:
+				targets = 0L;
+				break;
+		}
+		return targets & ~b.getPieces(piece.getColor());
+	}
+	
+	/**
+	 * Walk the rays of a sliding piece on a board of any size, stopping at the
+	 * first occupied square in each direction.
+	 * @param piece - the piece being moved
 	 * @param from - the starting coordinate
-	 * @param to - the ending coordinate
+	 * @param directions - the row and column steps of the rays
 	 * @param b - the board
-	 * @return true if the move can be made
+	 * @return the reachable squares as square indices
 	 */
-	private boolean checkValidMoveRook(Coordinate from, Coordinate to, Board b)
+	private int[] slide(ChessPiece piece, Coordinate from, int[][] directions, Board b)
 	{
-		int fromColumn = from.getColumn();
-		int fromRow = from.getRow();
-		Coordinate tempCoord;
-
-		// Attempting to move vertically
-		if (fromColumn == to.getColumn()) 
-		{	
-			// Moving up
-			for (int i = fromRow; i < to.getRow(); i++) 
+		if (b instanceof SparseBoard)
+		{
+			return slide(piece, from, directions, (SparseBoard) b);
+		}
+		int[] moves = new int[Math.min(b.nRows, 64) + Math.min(b.nColumns, 64)];
+		int n = 0;
+		for (int[] d : directions)
+		{
+			int row = from.getRow() + d[0];
+			int column = from.getColumn() + d[1];
+			while (row >= 1 && row <= b.nRows && column >= 1 && column <= b.nColumns)
 			{
-				tempCoord = makeCoordinate(i, fromColumn);
-
-				// Checks if any of the spaces are occupied
-				if (b.isSpaceOccupied(tempCoord) && !tempCoord.equals(from)) 
+				ChessPiece other = (ChessPiece) b.getPieceAt(row, column);
+				if (other == null || other.getColor() != piece.getColor())
 				{
-					return false;
+					if (n == moves.length)
+					{
+						moves = Arrays.copyOf(moves, n * 2);
+					}
+					moves[n++] = b.squareIndex(row, column);
 				}
-			}
-
-			// Moving down
-			for (int i = fromRow; i > to.getRow(); i--) 
-			{
-				tempCoord = makeCoordinate(i, fromColumn);
-
-				if (b.isSpaceOccupied(tempCoord) && !tempCoord.equals(from)) 
+				if (other != null)
 				{
-					return false;
+					break;
 				}
+				row += d[0];
+				column += d[1];
 			}
-			return true;
 		}
-
-		// Attempting to move horizontally
-		if (fromRow == to.getRow()) 
-		{	
-			// Moving right
-			for (int i = fromColumn; i < to.getColumn(); i++) 
+		return Arrays.copyOf(moves, n);
+	}
+	
+	/**
+	 * Slide on a sparse board. The first blocker of each ray is found with
+	 * one lookup, so only the squares actually reached are visited, and
+	 * squares that are too far out to have a square index are left out.
+	 * @param piece - the piece being moved
+	 * @param from - the starting coordinate
+	 * @param directions - the row and column steps of the rays
+	 * @param b - the board
+	 * @return the reachable squares that have square indices
+	 */
+	private int[] slide(ChessPiece piece, Coordinate from, int[][] directions, SparseBoard b)
+	{
+		int row = from.getRow();
+		int column = from.getColumn();
+		int[] moves = new int[64];
+		int n = 0;
+		for (int[] d : directions)
+		{
+			int steps = Math.min(reach(row, d[0], b.nRows), reach(column, d[1], b.nColumns));
+			Coordinate blocker = b.nextOccupied(row, column, d[0], d[1]);
+			if (blocker != null)
 			{
-				tempCoord = makeCoordinate(fromRow, i);
-
-				if (b.isSpaceOccupied(tempCoord) && !tempCoord.equals(from)) 
+				int distance = Math.max(Math.abs(blocker.getRow() - row), Math.abs(blocker.getColumn() - column));
+				if (distance <= steps)
 				{
-					return false;
+					ChessPiece other = (ChessPiece) b.getPieceAt(blocker);
+					steps = other.getColor() == piece.getColor() ? distance - 1 : distance;
 				}
 			}
-
-			// Moving left
-			for (int i = fromColumn; i > to.getColumn(); i--) 
+			for (int k = 1; k <= steps; k++)
 			{
-				tempCoord = makeCoordinate(fromRow, i);
-
-				if (b.isSpaceOccupied(tempCoord) && !tempCoord.equals(from)) 
+				int ix = b.squareIndex(row + k * d[0], column + k * d[1]);
+				if (ix >= 0)
 				{
-					return false;
+					if (n == moves.length)
+					{
+						moves = Arrays.copyOf(moves, n * 2);
+					}
+					moves[n++] = ix;
 				}
 			}
-			return true;
 		}
-		return false;
+		return Arrays.copyOf(moves, n);
 	}
-
+	
 	/**
-	 * Determine if a queen's move is valid
-	 * @param from - the starting coordinate
-	 * @param to - the ending coordinate
-	 * @param b - the board
-	 * @return true if the move can be made
+	 * @param from - the starting row or column
+	 * @param step - -1, 0 or 1
+	 * @param limit - the largest row or column on the board
+	 * @return how many steps fit on the board
 	 */
-	private boolean checkValidMoveQueen(Coordinate from, Coordinate to, Board b)
+	private static int reach(int from, int step, int limit)
 	{
-		return checkValidMoveBishop(from, to, b) || checkValidMoveRook(from, to, b);
+		return step > 0 ? limit - from : step < 0 ? from - 1 : Integer.MAX_VALUE;
 	}
-
+	
 	/**
-	 * Determine if a pawn's move is valid
+	 * Collect the squares at the given offsets that validate accepts.
 	 * @param from - the starting coordinate
-	 * @param to - the ending coordinate
+	 * @param offsets - the candidate row and column offsets
 	 * @param b - the board
-	 * @return true if the move can be made
+	 * @return the reachable squares as square indices
 	 */
-	private boolean checkValidMovePawn(ChessPiece piece, Coordinate from, Coordinate to, Board b)
+	private int[] leap(Coordinate from, int[][] offsets, Board b)
 	{
-		int fromColumn = from.getColumn();
-		int fromRow = from.getRow();
-		int toColumn = to.getColumn();
-		int toRow = to.getRow();
-		
-		int columnDiff = Math.abs(fromColumn - toColumn);
-		int rowDiff = Math.abs(fromRow - toRow);
-		double hypotenuse = getHypotenuse(columnDiff, rowDiff);
-		Coordinate nextSpace;
-		Coordinate twoSpacesAway;
-		
-		// Pawn can't move if it reaches the end of the board
-		if (fromRow == 1 || fromRow == 8) 
+		int[] moves = new int[offsets.length];
+		int n = 0;
+		for (int[] d : offsets)
 		{
-			return false;
+			int row = from.getRow() + d[0];
+			int column = from.getColumn() + d[1];
+			int ix = b.squareIndex(row, column);
+			if (ix >= 0 && validate(from.getRow(), from.getColumn(), row, column, b))
+			{
+				moves[n++] = ix;
+			}
 		}
-
-		// Pawn can't move more than 2 spaces forward or 1 space diagonally
-		if (rowDiff > 2 || (hypotenuse > Math.sqrt(2) && fromColumn != toColumn)) 
+		return Arrays.copyOf(moves, n);
+	}
+	
+	/**
+	 * Compute the squares a pawn can move to on a bitboard.
+	 * @param piece - the pawn
+	 * @param fromSquare - the bit index of the pawn
+	 * @param b - the board
+	 * @return the squares the pawn can reach
+	 */
+	private static long pawnMoves(ChessPiece piece, int fromSquare, ChessBitboard b)
+	{
+		PlayerColor color = piece.getColor();
+		long empty = ~b.getOccupied();
+		long moves = LeaperAttacks.pawnPushes(color, fromSquare) & empty;
+		
+		// Pawns are able to move forward two spaces if they have not moved yet
+		if (moves != 0 && (b.getMoved() & (1L << fromSquare)) == 0)
 		{
-			return false;
+			moves |= LeaperAttacks.pawnPushes(color, Long.numberOfTrailingZeros(moves)) & empty;
 		}
-
-		// Row numbers are different based on pawn color
-		switch (piece.getColor()) 
-		{
-			case WHITE:
-				// Cannot move backwards or sideways
-				if ((fromRow > toRow || toColumn != fromColumn) && fromRow >= toRow) 
-				{
-					return false;
-				}
-
-				// Get adjacent spaces on the board
-				nextSpace = makeCoordinate(fromColumn, fromRow + 1);
-				twoSpacesAway = makeCoordinate(fromColumn, fromRow + 2);
-
-				// Pawns are able to move forward two spaces if they are on their starting position
-				if (!piece.hasMoved && rowDiff == 2 && !b.isSpaceOccupied(nextSpace)
-					&& !b.isSpaceOccupied(twoSpacesAway) && fromColumn == toColumn) 
-				{
-					return true;
-				}
-				
-				// Otherwise, they move only one space
-				if (fromRow >= 2 && rowDiff == 1 && !b.isSpaceOccupied(nextSpace)	&& fromColumn == toColumn) 
-				{
-					return true;
-				}
-				
-				// Able to capture an opponent piece that is diagonally left or right forward one space
-				if (b.isSpaceOccupied(to) && toRow == fromRow + 1 && (toColumn == fromColumn + 1 || toColumn == fromColumn - 1)) 
-				{
-					return true;
-				}
-				break;
-			case BLACK:
-				// Cannot move backwards or sideways
-				if ((fromRow < toRow || toColumn != fromColumn) && fromRow <= toRow) 
-				{
-					return false;
-				}
-
-				// Get adjacent spaces on the board
-				nextSpace = makeCoordinate(fromColumn, fromRow - 1);
-				twoSpacesAway = makeCoordinate(fromColumn, fromRow - 2);
-
-				// Pawns are able to move forward two spaces if they are on their starting position
-				if (!piece.hasMoved && rowDiff == 2 && !b.isSpaceOccupied(nextSpace)
-					&& !b.isSpaceOccupied(twoSpacesAway) && fromColumn == toColumn) 
-				{
-					return true;
-				}
-				
-				// Otherwise, they move only one space
-				if (fromRow >= 2 && rowDiff == 1 && !b.isSpaceOccupied(nextSpace)	&& fromColumn == toColumn) 
-				{
-					return true;
-				}
-				
-				// Able to capture an opponent piece that is diagonally left or right forward one space
-				if (b.isSpaceOccupied(to) && toRow == fromRow - 1 && (toColumn == fromColumn + 1 || toColumn == fromColumn - 1)) 
-				{
-					return true;
-				}
-				break;
-
-		}
-		return false;
+		return moves | (LeaperAttacks.pawnAttacks(color, fromSquare) & b.getOccupied());
 	}
 
 	/**
-	 * Determine if a knight's move is valid
-	 * @param from - the starting coordinate
-	 * @param to - the ending coordinate
+	 * Determine if a rook's move is valid
+	 * @param fromRow - the starting row
+	 * @param fromColumn - the starting column
+	 * @param toRow - the ending row
+	 * @param toColumn - the ending column
 	 * @param b - the board
 	 * @return true if the move can be made
 	 */
-	private boolean checkValidMoveKnight(Coordinate from, Coordinate to, Board b)
+	private boolean checkValidMoveRook(int fromRow, int fromColumn, int toRow, int toColumn, Board b)
 	{
-		int fromColumn = from.getColumn();
-		int fromRow = from.getRow();
-		int toColumn = to.getColumn();
-		int toRow = to.getRow();
-		
-		int columnDiff = Math.abs(fromColumn - toColumn);
-		int rowDiff = Math.abs(fromRow - toRow);
-		
-		// Check if the proposed movement is equivalent to a horse movement, aka, an L-shape
-		if (getHypotenuse(columnDiff, rowDiff) == Math.sqrt(2 * 2 + 1))
-		{
-			return true;
-		}
-		return false;
+		// Must move along a row or a column, over empty squares only
+		return (fromColumn == toColumn || fromRow == toRow) 
+				&& b.isPathClear(fromRow, fromColumn, toRow, toColumn);
 	}
 
 	/**
-	 * Get the hypotenuse of a movement triangle using the Pythagorean Theorem
-	 * @param columnDiff - the difference between the columns of the two points on the board
-	 * @param rowDiff - the difference between the rows of the two points on the board
-	 * @return the hypotenuse of a movement triangle
+	 * Determine if a queen's move is valid
+	 * @param fromRow - the starting row
+	 * @param fromColumn - the starting column
+	 * @param toRow - the ending row
+	 * @param toColumn - the ending column
+	 * @param b - the board
+	 * @return true if the move can be made
 	 */
-	private double getHypotenuse(int columnDiff, int rowDiff)
+	private boolean checkValidMoveQueen(int fromRow, int fromColumn, int toRow, int toColumn, Board b)
 	{
-		double cSquared = (columnDiff * columnDiff) + (rowDiff * rowDiff);
-		return Math.sqrt(cSquared);
+		return checkValidMoveBishop(fromRow, fromColumn, toRow, toColumn, b) 
+				|| checkValidMoveRook(fromRow, fromColumn, toRow, toColumn, b);
 	}
 
 	/**
-	 * Determine if a bishop's move is valid
-	 * @param from - the starting coordinate
-	 * @param to - the ending coordinate
+	 * Determine if a pawn's move is valid
+	 * @param piece - the pawn
+	 * @param fromRow - the starting row
+	 * @param fromColumn - the starting column
+	 * @param toRow - the ending row
+	 * @param toColumn - the ending column
 	 * @param b - the board
 	 * @return true if the move can be made
 	 */
-	private boolean checkValidMoveBishop(Coordinate from, Coordinate to, Board b)
+	private boolean checkValidMovePawn(ChessPiece piece, int fromRow, int fromColumn, 
+			int toRow, int toColumn, Board b)
 	{
-		int fromColumn = from.getColumn();
-		int fromRow = from.getRow();
-		int toColumn = to.getColumn();
-		int toRow = to.getRow();
-		int currentRow = fromRow;
-		int columnDiff = Math.abs(fromColumn - toColumn);
-		int rowDiff = Math.abs(fromRow - toRow);
+		int forward = piece.getColor() == PlayerColor.WHITE ? 1 : -1;
 		
-		// If attempting to move diagonally
-		if (fromColumn != toColumn && fromRow != toRow && columnDiff == rowDiff)
+		// Pawn can't move if it reaches the end of the board
+		if (fromRow == 1 || fromRow == b.nRows) 
+		{
+			return false;
+		}
+		
+		// Able to capture an opponent piece that is diagonally left or right forward one space
+		if (toRow == fromRow + forward && Math.abs(toColumn - fromColumn) == 1)
+		{
+			return b.isSpaceOccupied(toRow, toColumn);
+		}
+		
+		// Otherwise the pawn can only move straight forward onto empty squares
+		if (fromColumn != toColumn || b.isSpaceOccupied(fromRow + forward, fromColumn))
+		{
+			return false;
+		}
+		if (toRow == fromRow + forward)
 		{
-			// check both diagonal paths for anything blocking the way
-			
-			// Diagonal to the right
-			for (int i = fromColumn; i < to.getColumn(); i++)
-			{
-				Coordinate tempCoord = makeCoordinate(currentRow, i);
-				
-				if (b.isSpaceOccupied(tempCoord) && !tempCoord.equals(from))
-				{
-					return false;
-				}
-				
-				if (toRow > fromRow)
-				{
-					currentRow++;
-				}
-				
-				if (toRow < fromRow)
-				{
-					currentRow--;
-				}
-				
-			}
-			
-			// Diagonally to the left
-			for (int i = fromColumn; i > to.getColumn(); i--)
-			{
-				Coordinate tempCoord = makeCoordinate(currentRow, i);
-				
-				if (b.isSpaceOccupied(tempCoord) && !tempCoord.equals(from))
-				{
-					return false;
-				}
-				
-				if (toRow > fromRow)
-				{
-					currentRow++;
-				}
-				
-				if (toRow < fromRow)
-				{
-					currentRow--;
-				}
-			}
-			// Able to return true if made through both for loops, otherwise the move wasn't possible
 			return true;
 		}
 		
-		return false;
+		// Pawns are able to move forward two spaces if they have not moved yet
+		return toRow == fromRow + 2 * forward && !b.hasMoved(fromRow, fromColumn) 
+				&& !b.isSpaceOccupied(toRow, toColumn);
 	}
 
 	/**
-	 * Determine if a king's move is valid
-	 * @param from - the starting coordinate
-	 * @param to - the ending coordinate
+	 * Determine if a knight's move is valid
+	 * @param fromRow - the starting row
+	 * @param fromColumn - the starting column
+	 * @param toRow - the ending row
+	 * @param toColumn - the ending column
 	 * @return true if the move can be made
 	 */
-	private boolean checkValidMoveKing(Coordinate from, Coordinate to)
+	private boolean checkValidMoveKnight(int fromRow, int fromColumn, int toRow, int toColumn)
 	{
-		int fromColumn = from.getColumn();
-		int fromRow = from.getRow();
-		int toColumn = to.getColumn();
-		int toRow = to.getRow();
-		
 		int columnDiff = Math.abs(fromColumn - toColumn);
 		int rowDiff = Math.abs(fromRow - toRow);
-		
-		if (columnDiff == 1 || rowDiff == 1)
-		{
-			return true;
-		}
-		return false;
+		return LeaperAttacks.shape(rowDiff, columnDiff) == LeaperAttacks.KNIGHT;
 	}
 
 	/**
-	 * @return the hasMoved
+	 * Determine if a bishop's move is valid
+	 * @param fromRow - the starting row
+	 * @param fromColumn - the starting column
+	 * @param toRow - the ending row
+	 * @param toColumn - the ending column
+	 * @param b - the board
+	 * @return true if the move can be made
 	 */
-	public boolean hasMoved()
+	private boolean checkValidMoveBishop(int fromRow, int fromColumn, int toRow, int toColumn, Board b)
 	{
-		return hasMoved;
+		int columnDiff = Math.abs(fromColumn - toColumn);
+		int rowDiff = Math.abs(fromRow - toRow);
+		
+		// Must move diagonally, over empty squares only
+		return fromColumn != toColumn && columnDiff == rowDiff
+				&& b.isPathClear(fromRow, fromColumn, toRow, toColumn);
 	}
 
 	/**
-	 * Once it moves, you can't change it.
-	 * @param hasMoved the hasMoved to set
+	 * Determine if a king's move is valid
+	 * @param fromRow - the starting row
+	 * @param fromColumn - the starting column
+	 * @param toRow - the ending row
+	 * @param toColumn - the ending column
+	 * @return true if the move can be made
 	 */
-	public void setHasMoved()
+	private boolean checkValidMoveKing(int fromRow, int fromColumn, int toRow, int toColumn)
 	{
-		hasMoved = true;
+		int columnDiff = Math.abs(fromColumn - toColumn);
+		int rowDiff = Math.abs(fromRow - toRow);
+		return LeaperAttacks.shape(rowDiff, columnDiff) == LeaperAttacks.KING;
 	}
 }
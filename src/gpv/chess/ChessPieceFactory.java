@@ -15,11 +15,19 @@ package gpv.chess;
 import gpv.PieceFactory;
 
 /**
- * A factory that makes chess pieces.
+ * A factory that makes chess pieces. Chess pieces are immutable, so the
+ * factory hands out one shared instance per descriptor.
  * @version Feb 21, 2020
  */
 public class ChessPieceFactory implements PieceFactory<ChessPiece, ChessPieceDescriptor>
 {
+	private static final ChessPiece[] pieces = new ChessPiece[ChessPieceDescriptor.values().length];
+	
+	static {
+		for (ChessPieceDescriptor d : ChessPieceDescriptor.values()) {
+			pieces[d.ordinal()] = new ChessPiece(d);
+		}
+	}
 
 	/*
 	 * @see gpv.PieceFactory#makePiece(gpv.PieceDescriptor)
@@ -27,7 +35,7 @@ public class ChessPieceFactory implements PieceFactory<ChessPiece, ChessPieceDes
 	@Override
 	public ChessPiece makePiece(ChessPieceDescriptor descriptor)
 	{
-		return new ChessPiece(descriptor);
+		return pieces[descriptor.ordinal()];
 	}
 
 }
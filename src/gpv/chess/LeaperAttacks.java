@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+/**
+ * Precomputed move tables for the pieces that do not slide: knight, king and
+ * pawn. For the 8x8 bitboard there is one mask per square. For boards of any
+ * other size the knight and king are answered from a small table indexed by
+ * the absolute row and column differences of the move, which does not depend
+ * on the size of the board.
+ * <br/>
+ * A pawn on the first or last row cannot move, as in ChessPiece.
+ * @version Oct 18, 2026
+ */
+final class LeaperAttacks
+{
+	static final int KNIGHT = 1;
+	static final int KING = 2;
+	
+	/**
+	 * Move shapes indexed by [row difference][column difference], each 0 to 2.
+	 */
+	private static final int[][] SHAPES = {
+		{ 0,     KING,   0      },
+		{ KING,  KING,   KNIGHT },
+		{ 0,     KNIGHT, 0      }
+	};
+	
+	static final int[][] KNIGHT_OFFSETS = {
+		{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}
+	};
+	static final int[][] KING_OFFSETS = SlidingAttacks.QUEEN_DIRECTIONS;
+	
+	/**
+	 * The pushes and captures of a pawn, indexed by the ordinal of its color.
+	 */
+	static final int[][][] PAWN_OFFSETS = new int[2][][];
+	
+	private static final long[] KNIGHT_ATTACKS = new long[64];
+	private static final long[] KING_ATTACKS = new long[64];
+	private static final long[][] PAWN_ATTACKS = new long[2][64];
+	private static final long[][] PAWN_PUSHES = new long[2][64];
+	
+	static {
+		PAWN_OFFSETS[PlayerColor.WHITE.ordinal()] = pawnOffsets(1);
+		PAWN_OFFSETS[PlayerColor.BLACK.ordinal()] = pawnOffsets(-1);
+		for (int sq = 0; sq < 64; sq++) {
+			int row = sq / 8;
+			int column = sq % 8;
+			for (int dr = -2; dr <= 2; dr++) {
+				for (int dc = -2; dc <= 2; dc++) {
+					int r = row + dr;
+					int c = column + dc;
+					if (r < 0 || r > 7 || c < 0 || c > 7) {
+						continue;
+					}
+					int shape = shape(Math.abs(dr), Math.abs(dc));
+					long bit = 1L << (r * 8 + c);
+					if (shape == KNIGHT) {
+						KNIGHT_ATTACKS[sq] |= bit;
+					} else if (shape == KING) {
+						KING_ATTACKS[sq] |= bit;
+					}
+				}
+			}
+			
+			if (row > 0 && row < 7) {
+				long white = 1L << (sq + 8);
+				long black = 1L << (sq - 8);
+				PAWN_PUSHES[PlayerColor.WHITE.ordinal()][sq] = white;
+				PAWN_PUSHES[PlayerColor.BLACK.ordinal()][sq] = black;
+				PAWN_ATTACKS[PlayerColor.WHITE.ordinal()][sq] = sideways(white, column);
+				PAWN_ATTACKS[PlayerColor.BLACK.ordinal()][sq] = sideways(black, column);
+			}
+		}
+	}
+	
+	/**
+	 * Not instantiable.
+	 */
+	private LeaperAttacks()
+	{
+		// Nothing to do
+	}
+	
+	/**
+	 * Classify a move by its absolute row and column differences.
+	 * @param rowDiff
+	 * @param columnDiff
+	 * @return KNIGHT, KING or 0 if neither piece moves that way
+	 */
+	static int shape(int rowDiff, int columnDiff)
+	{
+		return rowDiff > 2 || columnDiff > 2 ? 0 : SHAPES[rowDiff][columnDiff];
+	}
+	
+	/**
+	 * @param sq the bit index of the knight
+	 * @return the squares a knight on sq attacks
+	 */
+	static long knightAttacks(int sq)
+	{
+		return KNIGHT_ATTACKS[sq];
+	}
+	
+	/**
+	 * @param sq the bit index of the king
+	 * @return the squares a king on sq attacks
+	 */
+	static long kingAttacks(int sq)
+	{
+		return KING_ATTACKS[sq];
+	}
+	
+	/**
+	 * @param color the color of the pawn
+	 * @param sq the bit index of the pawn
+	 * @return the squares a pawn on sq captures on
+	 */
+	static long pawnAttacks(PlayerColor color, int sq)
+	{
+		return PAWN_ATTACKS[color.ordinal()][sq];
+	}
+	
+	/**
+	 * @param color the color of the pawn
+	 * @param sq the bit index of the pawn
+	 * @return the square one step in front of a pawn on sq, or 0 if it cannot move
+	 */
+	static long pawnPushes(PlayerColor color, int sq)
+	{
+		return PAWN_PUSHES[color.ordinal()][sq];
+	}
+	
+	/**
+	 * @param forward the row step of a pawn's move, 1 or -1
+	 * @return the single and double pushes and the two captures
+	 */
+	private static int[][] pawnOffsets(int forward)
+	{
+		return new int[][] { {forward, 0}, {2 * forward, 0}, {forward, 1}, {forward, -1} };
+	}
+	
+	/**
+	 * @param bit a square
+	 * @param column the column of the square, from 0 to 7
+	 * @return the squares immediately left and right of bit on the same row
+	 */
+	private static long sideways(long bit, int column)
+	{
+		long result = 0L;
+		if (column > 0) {
+			result |= bit >>> 1;
+		}
+		if (column < 7) {
+			result |= bit << 1;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+
+package gpv.chess;
+
+import gpv.util.Coordinate;
+
+/**
+ * Full legality on top of ChessPiece.canMove for a ChessBitboard. A move is
+ * legal when the piece can make it and it does not leave the mover's king
+ * attacked. Rather than making each move and asking isInCheck, the masks
+ * that decide this are computed once per position and color:
+ * <ul>
+ * <li>the checkers: the pieces attacking the king;</li>
+ * <li>the evasion mask: with one checker, the checker and the squares
+ * 	between it and the king; with two, no square; otherwise every square;</li>
+ * <li>the pinned pieces, each with the ray between the king and its pinner
+ * 	(pinner included) that it may not leave;</li>
+ * <li>the king danger mask: the squares the other color attacks once the
+ * 	king is taken off the board, so the king cannot step back along a
+ * 	checking ray.</li>
+ * </ul>
+ * A pseudo-legal move is then legal if its target passes one mask test. The
+ * masks are recomputed whenever the board's position hash changes. The rules
+ * implemented by ChessPiece have no castling or en passant, which are the
+ * only moves this would not cover.
+ * <br/>
+ * A color with no king, or with more than one, is never restricted. This
+ * class is not thread safe.
+ * @version Oct 18, 2026
+ */
+public class LegalMoves
+{
+	private final ChessBitboard board;
+	private final long[] hashes = new long[PlayerColor.values().length];
+	private final boolean[] valid = new boolean[PlayerColor.values().length];
+	private final long[] checkers = new long[PlayerColor.values().length];
+	private final long[] evasions = new long[PlayerColor.values().length];
+	private final long[] pinned = new long[PlayerColor.values().length];
+	private final long[] dangers = new long[PlayerColor.values().length];
+	private final long[][] pinRays = new long[PlayerColor.values().length][ChessBitboard.SIZE * ChessBitboard.SIZE];
+	
+	/**
+	 * Constructor.
+	 * @param board the board whose moves are checked
+	 */
+	public LegalMoves(ChessBitboard board)
+	{
+		this.board = board;
+	}
+	
+	/**
+	 * @param from the starting coordinate
+	 * @param to the ending coordinate
+	 * @return true if the piece on from can legally move to to, false if it
+	 * 	cannot or if there is no piece on from
+	 */
+	public boolean canMove(Coordinate from, Coordinate to)
+	{
+		int toSquare = ChessBitboard.square(to);
+		return toSquare >= 0 && (getLegalTargets(from) & (1L << toSquare)) != 0;
+	}
+	
+	/**
+	 * Determine if a move is legal without making any objects.
+	 * @param from the square index of the starting square
+	 * @param to the square index of the ending square
+	 * @return true if the piece on from can legally move to to
+	 * @see gpv.util.Board#squareIndex(int, int)
+	 */
+	public boolean canMove(int from, int to)
+	{
+		if (from < 0 || to < 0 || from >= board.squareCount() || to >= board.squareCount()) {
+			return false;
+		}
+		int fromSquare = ChessBitboard.square(board.rowOf(from), board.columnOf(from));
+		int toSquare = ChessBitboard.square(board.rowOf(to), board.columnOf(to));
+		return fromSquare >= 0 && toSquare >= 0
+			&& (legalTargets(fromSquare) & (1L << toSquare)) != 0;
+	}
+	
+	/**
+	 * @param from the starting coordinate
+	 * @return the bit mask of the squares the piece on from can legally move
+	 * 	to, or 0 if there is no piece on from
+	 */
+	public long getLegalTargets(Coordinate from)
+	{
+		int sq = ChessBitboard.square(from);
+		return sq < 0 ? 0L : legalTargets(sq);
+	}
+	
+	/**
+	 * @param color the color of the king
+	 * @return the pieces giving check to the king of the given color
+	 */
+	public long getCheckers(PlayerColor color)
+	{
+		return update(color).checkers[color.ordinal()];
+	}
+	
+	/**
+	 * @param color the color of the king
+	 * @return the squares a piece other than the king must move to while the
+	 * 	king is in check; every square when it is not
+	 */
+	public long getEvasionMask(PlayerColor color)
+	{
+		return update(color).evasions[color.ordinal()];
+	}
+	
+	/**
+	 * @param color the color of the king
+	 * @return the pieces of the given color pinned to their king
+	 */
+	public long getPinned(PlayerColor color)
+	{
+		return update(color).pinned[color.ordinal()];
+	}
+	
+	/**
+	 * @param square the bit index of a pinned piece
+	 * @param color the color of the piece
+	 * @return the squares the piece may move to without exposing its king,
+	 * 	or every square if it is not pinned
+	 */
+	public long getPinRay(int square, PlayerColor color)
+	{
+		update(color);
+		int c = color.ordinal();
+		return (pinned[c] & (1L << square)) != 0 ? pinRays[c][square] : -1L;
+	}
+	
+	/**
+	 * @param sq the bit index of the starting square
+	 * @return the legal targets of the piece on sq
+	 */
+	private long legalTargets(int sq)
+	{
+		ChessPiece piece = (ChessPiece) board.getPieceAt(sq / ChessBitboard.SIZE + 1,
+				sq % ChessBitboard.SIZE + 1);
+		if (piece == null) {
+			return 0L;
+		}
+		long targets = ChessPiece.moveMask(piece, sq, board);
+		int c = piece.getColor().ordinal();
+		update(piece.getColor());
+		if (piece.getName() == PieceName.KING) {
+			return targets & ~dangers[c];
+		}
+		targets &= evasions[c];
+		return (pinned[c] & (1L << sq)) != 0 ? targets & pinRays[c][sq] : targets;
+	}
+	
+	/**
+	 * Recompute the masks of a color if the position has changed since they
+	 * were last computed.
+	 * @param color the color
+	 * @return this
+	 */
+	private LegalMoves update(PlayerColor color)
+	{
+		int c = color.ordinal();
+		long hash = board.positionHash();
+		if (valid[c] && hashes[c] == hash) {
+			return this;
+		}
+		hashes[c] = hash;
+		valid[c] = true;
+		checkers[c] = 0L;
+		evasions[c] = -1L;
+		pinned[c] = 0L;
+		dangers[c] = 0L;
+		
+		PlayerColor them = color == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+		long kings = board.getPieces(color == PlayerColor.WHITE
+			? ChessPieceDescriptor.WHITEKING : ChessPieceDescriptor.BLACKKING);
+		if (Long.bitCount(kings) != 1) {
+			return this;
+		}
+		int king = Long.numberOfTrailingZeros(kings);
+		long occupied = board.getOccupied();
+		long ours = board.getPieces(color);
+		long theirs = board.getPieces(them);
+		long rooks = theirs & (pieces(ChessPieceDescriptor.WHITEROOK, ChessPieceDescriptor.BLACKROOK)
+			| pieces(ChessPieceDescriptor.WHITEQUEEN, ChessPieceDescriptor.BLACKQUEEN));
+		long bishops = theirs & (pieces(ChessPieceDescriptor.WHITEBISHOP, ChessPieceDescriptor.BLACKBISHOP)
+			| pieces(ChessPieceDescriptor.WHITEQUEEN, ChessPieceDescriptor.BLACKQUEEN));
+		
+		long sliders = SlidingAttacks.rookAttacks(king, occupied) & rooks
+			| SlidingAttacks.bishopAttacks(king, occupied) & bishops;
+		long check = sliders
+			| LeaperAttacks.knightAttacks(king)
+				& theirs & pieces(ChessPieceDescriptor.WHITEKNIGHT, ChessPieceDescriptor.BLACKKNIGHT)
+			| LeaperAttacks.kingAttacks(king)
+				& theirs & pieces(ChessPieceDescriptor.WHITEKING, ChessPieceDescriptor.BLACKKING);
+		// The pawn tables are empty on the back rows, so ask each nearby pawn
+		// rather than looking back from the king
+		long pawns = LeaperAttacks.kingAttacks(king)
+			& theirs & pieces(ChessPieceDescriptor.WHITEPAWN, ChessPieceDescriptor.BLACKPAWN);
+		for (; pawns != 0; pawns &= pawns - 1) {
+			int p = Long.numberOfTrailingZeros(pawns);
+			if ((LeaperAttacks.pawnAttacks(them, p) & kings) != 0) {
+				check |= 1L << p;
+			}
+		}
+		checkers[c] = check;
+		if (Long.bitCount(check) > 1) {
+			evasions[c] = 0L;
+		} else if (check != 0) {
+			int checker = Long.numberOfTrailingZeros(check);
+			evasions[c] = check | between(king, checker);
+		}
+		
+		// The other color's attacks, plus whatever a checking slider would
+		// reach behind the king once the king has stepped off its ray
+		long danger = board.getAttacks(them);
+		long withoutKing = occupied & ~kings;
+		for (; sliders != 0; sliders &= sliders - 1) {
+			int s = Long.numberOfTrailingZeros(sliders);
+			danger |= ((rooks & (1L << s)) != 0 && isOnRookLine(king, s)
+					? SlidingAttacks.rookAttacks(s, withoutKing) : 0L)
+				| ((bishops & (1L << s)) != 0 && !isOnRookLine(king, s)
+					? SlidingAttacks.bishopAttacks(s, withoutKing) : 0L);
+		}
+		dangers[c] = danger;
+		
+		// A pinner sees the king through exactly one of our pieces
+		long snipers = SlidingAttacks.rookAttacks(king, theirs) & rooks
+			| SlidingAttacks.bishopAttacks(king, theirs) & bishops;
+		long pins = 0L;
+		for (; snipers != 0; snipers &= snipers - 1) {
+			int s = Long.numberOfTrailingZeros(snipers);
+			long ray = between(king, s);
+			long blockers = ray & occupied;
+			if (Long.bitCount(blockers) == 1 && (blockers & ours) != 0) {
+				pins |= blockers;
+				pinRays[c][Long.numberOfTrailingZeros(blockers)] = ray | 1L << s;
+			}
+		}
+		pinned[c] = pins;
+		return this;
+	}
+	
+	/**
+	 * @return the squares occupied by either of two descriptors
+	 */
+	private long pieces(ChessPieceDescriptor a, ChessPieceDescriptor b)
+	{
+		return board.getPieces(a) | board.getPieces(b);
+	}
+	
+	/**
+	 * @return true if two squares share a row or a column
+	 */
+	private static boolean isOnRookLine(int a, int b)
+	{
+		return a / ChessBitboard.SIZE == b / ChessBitboard.SIZE
+			|| a % ChessBitboard.SIZE == b % ChessBitboard.SIZE;
+	}
+	
+	/**
+	 * @param a a square
+	 * @param b another square
+	 * @return the squares strictly between a and b if they share a row,
+	 * 	column or diagonal, otherwise 0
+	 */
+	private static long between(int a, int b)
+	{
+		long bitA = 1L << a;
+		long bitB = 1L << b;
+		if ((SlidingAttacks.rookAttacks(a, 0L) & bitB) != 0) {
+			return SlidingAttacks.rookAttacks(a, bitB) & SlidingAttacks.rookAttacks(b, bitA);
+		}
+		if ((SlidingAttacks.bishopAttacks(a, 0L) & bitB) != 0) {
+			return SlidingAttacks.bishopAttacks(a, bitB) & SlidingAttacks.bishopAttacks(b, bitA);
+		}
+		return 0L;
+	}
+}
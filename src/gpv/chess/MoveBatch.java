@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import java.util.*;
+import java.util.concurrent.*;
+import gpv.Piece;
+import gpv.util.*;
+
+/**
+ * Validates a batch of moves against one position. The moves are given as
+ * parallel arrays of from and to square indices, as computed by 
+ * Board.squareIndex, and the results come back as a BitSet in which bit i is
+ * set if the i-th move can be made.
+ * <br/>
+ * The targets of each distinct from square are worked out once for the whole
+ * batch: as a move mask on a ChessBitboard and as a sorted list of square
+ * indices from Piece.generateMoves on any other board. Each move is then a
+ * mask test or a binary search. The targets are kept only for the distinct
+ * from squares of the batch, in a sorted table, so a batch costs memory in
+ * proportion to its size however large the board is. The work is done before
+ * any move is checked, so both it and the checks of a large batch can be
+ * run on several threads with the board only ever read.
+ * @version Oct 18, 2026
+ */
+public final class MoveBatch
+{
+	/**
+	 * Batches are split between threads in pieces of at least this many moves.
+	 */
+	public static final int MOVES_PER_TASK = 1024;
+	
+	/**
+	 * The targets of the from squares are worked out on other threads in
+	 * pieces of at least this many squares.
+	 */
+	public static final int SQUARES_PER_TASK = 8;
+	
+	private static final int[] NO_TARGETS = new int[0];
+	
+	private final Board board;
+	private final ChessBitboard bitboard;	// board, if it is one
+	private final int count;	// the number of square indices of the board
+	private final int[] squares;	// the distinct from squares, sorted
+	private final long[] masks;	// by position in squares, where targets is null
+	private final int[][] targets;	// by position in squares, sorted
+	
+	/**
+	 * Find the distinct from squares of a batch.
+	 * @param from the from squares
+	 * @param b the board
+	 */
+	private MoveBatch(int[] from, Board b)
+	{
+		board = b;
+		bitboard = b instanceof ChessBitboard ? (ChessBitboard) b : null;
+		count = b.squareCount();
+		int[] sorted = from.clone();
+		Arrays.sort(sorted);
+		int n = 0;
+		for (int ix : sorted) {
+			if (ix >= 0 && ix < count && (n == 0 || sorted[n - 1] != ix)) {
+				sorted[n++] = ix;
+			}
+		}
+		squares = Arrays.copyOf(sorted, n);
+		masks = new long[n];
+		targets = new int[n][];
+	}
+	
+	/**
+	 * Check a batch of moves on the current thread.
+	 * @param from the from square of each move
+	 * @param to the to square of each move
+	 * @param b the board
+	 * @return the results, bit i set if move i can be made
+	 */
+	public static BitSet canMove(int[] from, int[] to, Board b)
+	{
+		return canMove(from, to, b, null);
+	}
+	
+	/**
+	 * Check a batch of moves, splitting a large batch between the threads of
+	 * a pool.
+	 * @param from the from square of each move
+	 * @param to the to square of each move
+	 * @param b the board, which must not change until the check is done
+	 * @param pool the pool to use, or null to use the current thread
+	 * @return the results, bit i set if move i can be made
+	 */
+	public static BitSet canMove(int[] from, int[] to, Board b, ForkJoinPool pool)
+	{
+		if (from.length != to.length) {
+			throw new IllegalArgumentException("from and to must have the same length");
+		}
+		MoveBatch batch = new MoveBatch(from, b);
+		if (pool == null || batch.squares.length <= SQUARES_PER_TASK) {
+			batch.computeRange(0, batch.squares.length);
+		} else {
+			pool.invoke(batch.new Compute(0, batch.squares.length));
+		}
+		long[] words = new long[(from.length + 63) >>> 6];
+		if (pool == null || from.length <= MOVES_PER_TASK) {
+			batch.check(from, to, words, 0, words.length);
+		} else {
+			pool.invoke(batch.new Check(from, to, words, 0, words.length));
+		}
+		return BitSet.valueOf(words);
+	}
+	
+	/**
+	 * Check the moves whose results go in a range of words.
+	 * @param from the from squares
+	 * @param to the to squares
+	 * @param words the results
+	 * @param first the first word
+	 * @param end one past the last word
+	 */
+	private void check(int[] from, int[] to, long[] words, int first, int end)
+	{
+		int last = Math.min(end * 64, from.length);
+		for (int i = first * 64; i < last; i++) {
+			int t = to[i];
+			int f = from[i] < 0 || t < 0 || t >= count ? -1 : Arrays.binarySearch(squares, from[i]);
+			if (f < 0) {
+				continue;
+			}
+			boolean result;
+			if (targets[f] != null) {
+				result = Arrays.binarySearch(targets[f], t) >= 0;
+			} else {
+				int sq = ChessBitboard.square(board.rowOf(t), board.columnOf(t));
+				result = sq >= 0 && (masks[f] & (1L << sq)) != 0;
+			}
+			if (result) {
+				words[i >>> 6] |= 1L << i;
+			}
+		}
+	}
+	
+	/**
+	 * Work out the targets of a range of the from squares.
+	 * @param first the position in squares of the first
+	 * @param end one past the position of the last
+	 */
+	private void computeRange(int first, int end)
+	{
+		for (int i = first; i < end; i++) {
+			compute(i, squares[i]);
+		}
+	}
+	
+	/**
+	 * Work out the targets of the piece on a square.
+	 * @param i the position of the square in squares
+	 * @param ix the square index
+	 */
+	private void compute(int i, int ix)
+	{
+		int row = board.rowOf(ix);
+		int column = board.columnOf(ix);
+		int sq = ChessBitboard.square(row, column);
+		Coordinate c = Coordinate.makeCoordinate(row, column);
+		if (bitboard != null && sq >= 0) {
+			ChessPiece piece = (ChessPiece) bitboard.getPieceAt(c);
+			masks[i] = piece == null ? 0L : ChessPiece.moveMask(piece, sq, bitboard);
+			return;
+		}
+		Piece piece = board.getPieceAt(c);
+		if (piece == null) {
+			targets[i] = NO_TARGETS;
+		} else {
+			int[] moves = piece.generateMoves(c, board);
+			Arrays.sort(moves);
+			targets[i] = moves;
+		}
+	}
+	
+	/**
+	 * Works out the targets of a range of the from squares, splitting it in
+	 * half while it is large.
+	 */
+	private class Compute extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private final int first;
+		private final int end;
+		
+		Compute(int first, int end)
+		{
+			this.first = first;
+			this.end = end;
+		}
+		
+		@Override
+		protected void compute()
+		{
+			if (end - first <= SQUARES_PER_TASK) {
+				computeRange(first, end);
+				return;
+			}
+			int middle = (first + end) >>> 1;
+			invokeAll(new Compute(first, middle), new Compute(middle, end));
+		}
+	}
+	
+	/**
+	 * Checks a range of words, splitting it in half while it is large.
+	 */
+	private class Check extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private final int[] from;
+		private final int[] to;
+		private final long[] words;
+		private final int first;
+		private final int end;
+		
+		Check(int[] from, int[] to, long[] words, int first, int end)
+		{
+			this.from = from;
+			this.to = to;
+			this.words = words;
+			this.first = first;
+			this.end = end;
+		}
+		
+		@Override
+		protected void compute()
+		{
+			if ((end - first) * 64 <= MOVES_PER_TASK) {
+				check(from, to, words, first, end);
+				return;
+			}
+			int middle = (first + end) >>> 1;
+			invokeAll(new Check(from, to, words, first, middle),
+					new Check(from, to, words, middle, end));
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.*;
+import gpv.util.*;
+
+/**
+ * An optional, bounded cache of ChessPiece.canMove results. The cache key is
+ * the board's position hash together with the board size and the from and to
+ * squares. Any change to the board changes the position hash, so entries for
+ * an old position are never matched again and are evicted as the cache fills.
+ * <br/>
+ * The cache is 4-way set associative. Each entry is a single long holding the
+ * top 62 bits of the key, the result and a valid bit, so readers and writers
+ * on different threads never see half an entry. Eviction within a set uses the
+ * clock (second chance) policy: a hit sets an entry's reference bit, and the
+ * clock hand skips, and clears, referenced entries before replacing one. The
+ * reference bits and hands are updated without synchronization; a lost update
+ * only makes eviction slightly less accurate, never a result wrong.
+ * <br/>
+ * Two different questions whose keys agree in all 62 stored bits would share
+ * an entry; with 64-bit keys this is vanishingly unlikely.
+ * <br/>
+ * On a ConcurrentBoard the key and the result are computed inside one
+ * ConcurrentBoard.read, so a result is never stored under the key of a
+ * different version of the board.
+ * @version Oct 18, 2026
+ */
+public class MoveValidationCache
+{
+	private static final int WAYS = 4;
+	private static final long VALID = 1L;
+	private static final long RESULT = 2L;
+	private static final long KEY_BITS = ~3L;
+	
+	private final AtomicLongArray entries;
+	private final byte[] referenced;
+	private final byte[] hands;
+	private final int setMask;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	
+	/**
+	 * Constructor.
+	 * @param capacity the maximum number of cached results, rounded up to a
+	 * 	power of two of at least 4
+	 */
+	public MoveValidationCache(int capacity)
+	{
+		if (capacity < 1 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+		}
+		int sets = Math.max(1, Integer.highestOneBit(capacity * 2 - 1) / WAYS);
+		entries = new AtomicLongArray(sets * WAYS);
+		referenced = new byte[sets * WAYS];
+		hands = new byte[sets];
+		setMask = sets - 1;
+	}
+	
+	/**
+	 * Answer canMove for the piece on from, using a cached result if there is one.
+	 * @param from the starting coordinate
+	 * @param to the ending coordinate
+	 * @param b the board
+	 * @return true if the piece on from can move to to, false if it cannot or
+	 * 	if there is no piece on from
+	 */
+	public boolean canMove(Coordinate from, Coordinate to, Board b)
+	{
+		// On a concurrent board the key and the result must both be read
+		// from the same version of the board
+		long entry = b instanceof ConcurrentBoard
+			? ((ConcurrentBoard) b).read(x -> probe(from, to, x))
+			: probe(from, to, b);
+		int base = ((int) (entry >>> 32) & setMask) * WAYS;
+		if ((entry & VALID) != 0) {
+			hits.increment();
+			for (int i = base; i < base + WAYS; i++) {
+				if (entries.get(i) == entry) {
+					referenced[i] = 1;
+				}
+			}
+		} else {
+			misses.increment();
+			entries.set(victim(base / WAYS), entry | VALID);
+		}
+		return (entry & RESULT) != 0;
+	}
+	
+	/**
+	 * Remove every entry and reset the counters.
+	 */
+	public void clear()
+	{
+		for (int i = 0; i < entries.length(); i++) {
+			entries.set(i, 0L);
+		}
+		Arrays.fill(referenced, (byte) 0);
+		hits.reset();
+		misses.reset();
+	}
+	
+	/**
+	 * @return the number of lookups answered from the cache
+	 */
+	public long getHits()
+	{
+		return hits.sum();
+	}
+	
+	/**
+	 * @return the number of lookups that had to call canMove
+	 */
+	public long getMisses()
+	{
+		return misses.sum();
+	}
+	
+	/**
+	 * @return the maximum number of cached results
+	 */
+	public int getCapacity()
+	{
+		return entries.length();
+	}
+	
+	/**
+	 * Choose the entry of a set to replace with the clock policy.
+	 * @param set the set
+	 * @return the index of the entry to replace
+	 */
+	private int victim(int set)
+	{
+		int base = set * WAYS;
+		int hand = hands[set] & (WAYS - 1);
+		for (int step = 0; step < 2 * WAYS; step++) {
+			int i = base + hand;
+			hand = (hand + 1) & (WAYS - 1);
+			if (referenced[i] == 0 || (entries.get(i) & VALID) == 0) {
+				break;
+			}
+			referenced[i] = 0;
+		}
+		hands[set] = (byte) hand;
+		int i = base + ((hand - 1) & (WAYS - 1));
+		referenced[i] = 0;
+		return i;
+	}
+	
+	/**
+	 * Look a question up without changing the cache, answering it with
+	 * canMove if it is not there.
+	 * @param from the starting coordinate
+	 * @param to the ending coordinate
+	 * @param b the board
+	 * @return the cached entry, or, on a miss, the entry to store with its
+	 * 	valid bit clear
+	 */
+	private long probe(Coordinate from, Coordinate to, Board b)
+	{
+		long tag = (key(from, to, b) & KEY_BITS) | VALID;
+		int base = ((int) (tag >>> 32) & setMask) * WAYS;
+		for (int i = base; i < base + WAYS; i++) {
+			long entry = entries.get(i);
+			if ((entry & ~RESULT) == tag) {
+				return entry;
+			}
+		}
+		ChessPiece piece = (ChessPiece) b.getPieceAt(from);
+		boolean result = piece != null && piece.canMove(from, to, b);
+		return (tag & ~VALID) | (result ? RESULT : 0L);
+	}
+	
+	/**
+	 * @return the 64-bit key of a question on a board
+	 */
+	private static long key(Coordinate from, Coordinate to, Board b)
+	{
+		long squares = Zobrist.mix(Zobrist.square(from.getRow(), from.getColumn()))
+				^ Zobrist.square(to.getRow(), to.getColumn());
+		long size = Zobrist.square(b.nRows, b.nColumns);
+		return Zobrist.mix(b.positionHash() ^ Zobrist.mix(squares ^ Zobrist.mix(size)));
+	}
+}
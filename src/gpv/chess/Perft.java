@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static gpv.util.SquareInitializer.makeSquareInitializer;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import gpv.util.*;
+
+/**
+ * Perft (performance test) counts the leaf nodes of the move tree to a given
+ * depth, with the players taking turns. It is both a correctness check for the
+ * move rules and a throughput benchmark for them.
+ * <br/>
+ * Moves are the moves that ChessPiece.canMove accepts on a ChessBitboard and
+ * that do not leave the mover's king attacked, as decided by LegalMoves. The
+ * rules have no castling, en passant or promotion, so the counts are the
+ * standard ones as long as none of those can happen: from the starting
+ * position, up to depth 4.
+ * Subtrees that are reached more than once are counted once and then looked up
+ * in a fixed-size transposition table keyed by the board's position hash, the
+ * player to move and the remaining depth. The table uses lockless hashing: an entry stores
+ * its count and the key XORed with that count, so an entry torn by two
+ * threads writing at once simply fails to verify and is treated as a miss.
+ * <br/>
+ * Usage: java gpv.chess.Perft [depth [threads]]
+ * @version Oct 18, 2026
+ */
+public class Perft
+{
+	private static final Coordinate[] SQUARES = new Coordinate[64];
+	private static final long[] DEPTH_KEYS = new long[64];
+	private static final long BLACK_TO_MOVE_KEY;
+	
+	static {
+		for (int sq = 0; sq < 64; sq++) {
+			SQUARES[sq] = makeCoordinate(sq / 8 + 1, sq % 8 + 1);
+		}
+		SplittableRandom random = new SplittableRandom(0x5EED5EED5EEDL);
+		for (int i = 0; i < DEPTH_KEYS.length; i++) {
+			DEPTH_KEYS[i] = random.nextLong();
+		}
+		BLACK_TO_MOVE_KEY = random.nextLong();
+	}
+	
+	private final AtomicLongArray keys;
+	private final AtomicLongArray counts;
+	private final int mask;
+	
+	/**
+	 * Constructor.
+	 * @param tableBits the transposition table has 2^tableBits entries
+	 */
+	public Perft(int tableBits)
+	{
+		if (tableBits < 1 || tableBits > 30) {
+			throw new IllegalArgumentException("tableBits must be between 1 and 30");
+		}
+		keys = new AtomicLongArray(1 << tableBits);
+		counts = new AtomicLongArray(1 << tableBits);
+		mask = (1 << tableBits) - 1;
+	}
+	
+	/**
+	 * Count the leaf nodes on the current thread. The board is left as it was.
+	 * @param b the position
+	 * @param toMove the player to move
+	 * @param depth the number of plies
+	 * @return the number of leaf nodes
+	 */
+	public long count(ChessBitboard b, PlayerColor toMove, int depth)
+	{
+		return perft(b, new LegalMoves(b), toMove, depth);
+	}
+	
+	/**
+	 * Count the leaf nodes, searching the subtree of every root move as a
+	 * separate task in the pool. The board is not modified.
+	 * @param b the position
+	 * @param toMove the player to move
+	 * @param depth the number of plies
+	 * @param pool the pool that runs the root moves
+	 * @return the number of leaf nodes
+	 */
+	public long count(ChessBitboard b, PlayerColor toMove, int depth, ForkJoinPool pool)
+	{
+		if (depth < 2) {
+			return count(copy(b), toMove, depth);
+		}
+		LegalMoves legal = new LegalMoves(b);
+		List<RootMove> rootMoves = new ArrayList<RootMove>();
+		for (long from = b.getPieces(toMove); from != 0; from &= from - 1) {
+			int fromSquare = Long.numberOfTrailingZeros(from);
+			for (long to = legal.getLegalTargets(SQUARES[fromSquare]); to != 0; to &= to - 1) {
+				rootMoves.add(new RootMove(b, toMove, depth, fromSquare, Long.numberOfTrailingZeros(to)));
+			}
+		}
+		return pool.invoke(new RecursiveTask<Long>() {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected Long compute()
+			{
+				long nodes = 0;
+				for (RootMove m : invokeAll(rootMoves)) {
+					nodes += m.join();
+				}
+				return nodes;
+			}
+		});
+	}
+	
+	/**
+	 * The recursive count. Moves are made and unmade on b.
+	 * @param b the position
+	 * @param legal the legality masks of b
+	 * @param toMove the player to move
+	 * @param depth the remaining plies
+	 * @return the number of leaf nodes
+	 */
+	private long perft(ChessBitboard b, LegalMoves legal, PlayerColor toMove, int depth)
+	{
+		if (depth == 0) {
+			return 1;
+		}
+		
+		long entryKey = b.positionHash() ^ DEPTH_KEYS[depth]
+				^ (toMove == PlayerColor.BLACK ? BLACK_TO_MOVE_KEY : 0L);
+		int ix = (int) entryKey & mask;
+		if (depth > 1) {
+			long stored = counts.get(ix);
+			if ((keys.get(ix) ^ stored) == entryKey) {
+				return stored;
+			}
+		}
+		
+		PlayerColor opponent = toMove == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+		long nodes = 0;
+		for (long from = b.getPieces(toMove); from != 0; from &= from - 1) {
+			int fromSquare = Long.numberOfTrailingZeros(from);
+			long targets = legal.getLegalTargets(SQUARES[fromSquare]);
+			
+			// Bulk count at the last ply
+			if (depth == 1) {
+				nodes += Long.bitCount(targets);
+				continue;
+			}
+			
+			for (; targets != 0; targets &= targets - 1) {
+				b.applyMove(SQUARES[fromSquare], SQUARES[Long.numberOfTrailingZeros(targets)]);
+				nodes += perft(b, legal, opponent, depth - 1);
+				b.undoMove();
+			}
+		}
+		
+		if (depth > 1) {
+			keys.set(ix, entryKey ^ nodes);
+			counts.set(ix, nodes);
+		}
+		return nodes;
+	}
+	
+	/**
+	 * @param b a position
+	 * @return a new board holding the same pieces, with the same ones moved
+	 */
+	private static ChessBitboard copy(ChessBitboard b)
+	{
+		ChessBitboard copy = new ChessBitboard();
+		for (long occupied = b.getOccupied(); occupied != 0; occupied &= occupied - 1) {
+			Coordinate c = SQUARES[Long.numberOfTrailingZeros(occupied)];
+			copy.putPieceAt(b.getPieceAt(c), c);
+			if (b.hasMoved(c)) {
+				copy.setHasMoved(c);
+			}
+		}
+		return copy;
+	}
+	
+	/**
+	 * @return the standard starting position of chess
+	 */
+	public static ChessBitboard initialPosition()
+	{
+		ChessPieceFactory factory = new ChessPieceFactory();
+		ChessPieceDescriptor[] white = { WHITEROOK, WHITEKNIGHT, WHITEBISHOP, WHITEQUEEN,
+				WHITEKING, WHITEBISHOP, WHITEKNIGHT, WHITEROOK };
+		ChessPieceDescriptor[] black = { BLACKROOK, BLACKKNIGHT, BLACKBISHOP, BLACKQUEEN,
+				BLACKKING, BLACKBISHOP, BLACKKNIGHT, BLACKROOK };
+		List<SquareInitializer> initializers = new ArrayList<SquareInitializer>();
+		for (int column = 1; column <= 8; column++) {
+			initializers.add(makeSquareInitializer(factory.makePiece(white[column - 1]), makeCoordinate(1, column)));
+			initializers.add(makeSquareInitializer(factory.makePiece(WHITEPAWN), makeCoordinate(2, column)));
+			initializers.add(makeSquareInitializer(factory.makePiece(BLACKPAWN), makeCoordinate(7, column)));
+			initializers.add(makeSquareInitializer(factory.makePiece(black[column - 1]), makeCoordinate(8, column)));
+		}
+		return new ChessBitboard(initializers);
+	}
+	
+	/**
+	 * Run perft from the starting position and print the node count and speed.
+	 * @param args the depth (default 5) and the number of threads (default all)
+	 */
+	public static void main(String[] args)
+	{
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		long start = System.nanoTime();
+		long nodes = new Perft(24).count(initialPosition(), PlayerColor.WHITE, depth, pool);
+		long elapsed = System.nanoTime() - start;
+		pool.shutdown();
+		System.out.printf("perft(%d) = %d in %.3f s (%.0f nodes/s, %d threads)%n",
+				depth, nodes, elapsed / 1e9, nodes / (elapsed / 1e9), threads);
+	}
+	
+	/**
+	 * The subtree below one root move, searched on a private copy of the board.
+	 */
+	private class RootMove extends RecursiveTask<Long>
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private final ChessBitboard board;
+		private final PlayerColor toMove;
+		private final int depth;
+		private final int fromSquare;
+		private final int toSquare;
+		
+		RootMove(ChessBitboard b, PlayerColor toMove, int depth, int fromSquare, int toSquare)
+		{
+			this.board = copy(b);
+			this.toMove = toMove;
+			this.depth = depth;
+			this.fromSquare = fromSquare;
+			this.toSquare = toSquare;
+		}
+		
+		@Override
+		protected Long compute()
+		{
+			board.applyMove(SQUARES[fromSquare], SQUARES[toSquare]);
+			PlayerColor opponent = toMove == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+			return perft(board, new LegalMoves(board), opponent, depth - 1);
+		}
+	}
+}
@@ -14,17 +14,84 @@ package gpv.util;
 
 import java.util.*;
 import java.util.stream.Stream;
-import gpv.Piece;
+import gpv.*;
 
 /**
- * Class for a rectangular board made up of squares
+ * Class for a rectangular board made up of squares.
+ * <br/>
+ * Squares are held in a dense array indexed by row and column. The array has
+ * room for rows 0..nRows and columns 0..nColumns so that boards addressed from
+ * either 0 or 1 fit without translation. Any coordinate outside of that range
+ * is kept in a small overflow map so that the board behaves exactly as a
+ * map-backed board would.
+ * <br/>
+ * The board also records which of the pieces on it have moved, one bit per
+ * square. This state belongs to the board, not to the pieces, so that piece
+ * instances can be shared between boards and threads. Placing a piece on a
+ * square clears the square's bit; setHasMoved sets it.
+ * <br/>
+ * A 64-bit Zobrist hash of the position (the pieces and their moved bits) is
+ * kept up to date by every change, so positionHash() costs nothing.
+ * <br/>
+ * When reachability caching is turned on, the board computes, on the first
+ * query after a change, where every piece on it can move, and answers canReach
+ * with a single bit test until the next change. This pays off when positions
+ * are queried far more often than they are changed.
+ * <br/>
+ * An occupancy mask, one bit per square, lets isPathClear test the squares
+ * between two others against a mask shared by every board of the same shape.
+ * The board also keeps the occupancy of every row, column, diagonal and
+ * anti-diagonal, which isPathClear uses on boards too large for the shared
+ * masks: there, the squares between are a range of bits of one line.
+ * <br/>
+ * The board also keeps, for every piece descriptor, the square indices of the
+ * pieces with that descriptor, so finding a king or counting material costs in
+ * proportion to the pieces, not to the squares.
+ * <br/>
+ * Moves made with applyMove can be taken back with undoMove. The board keeps
+ * what it needs to undo them on a stack of arrays that it reuses: the square
+ * indices of each move in an int array, its moved bits in a byte array and the
+ * captured piece, and only squares without a square index as Coordinates.
+ * Searching ahead therefore allocates nothing once the stack is as deep as the
+ * search.
+ * <br/>
+ * The squares can be read by row and column or by Coordinate. The row and
+ * column methods are the ones subclasses override; the Coordinate methods
+ * only unpack the coordinate and call them.
  * @version Feb 23, 2020
  */
 public class Board
 {
-	Map<Coordinate, Piece> board;
+	Piece[] squares;
+	Map<Coordinate, Piece> overflow;
+	long[] moved;	// one bit per square of the dense storage
+	long[] occupied;	// one bit per square of the dense storage
+	private long[] rowLines;	// occupancy of each row, by column
+	private long[] columnLines;	// occupancy of each column, by row
+	private long[] diagonalLines;	// occupancy of each diagonal, by row
+	private long[] antiDiagonalLines;	// occupancy of each anti-diagonal, by row
+	private int rowWords;	// words per row line
+	private int lineWords;	// words per column, diagonal and anti-diagonal line
+	private BoardGeometry geometry;	// fetched when first needed
+	private Map<PieceDescriptor, Locations> locations;	// of the pieces in the dense storage
+	private int[] locationSlots;	// by square index, where the square is in its Locations
+	Set<Coordinate> movedOverflow;
+	private long hash;
+	private boolean reachabilityCaching;
+	private long[][] reachable;	// targets of the piece on each square, by square index
+	private boolean reachableStale;
+	private int undoDepth;	// the undo stack grows on demand and is reused
+	private int[] undoSquares;	// square indices of from and to of each move, -1 if none
+	private Coordinate[] undoOverflow;	// from and to where a square has no index
+	private Piece[] undoCaptured;
+	private byte[] undoFlags;
 	public int nRows;
 	public int nColumns;
+	private int rowLimit;	// rows and columns held in the dense storage
+	private int stride;
+	
+	private static final byte FROM_MOVED = 1;
+	private static final byte TO_MOVED = 2;
 	
 	/**
 	 * Constructor for an uninitialized board with given dimensions.
@@ -32,10 +99,34 @@ public class Board
 	 * @param maxColumns
 	 */
 	public Board(int maxRows, int maxColumns)
+	{
+		this(maxRows, maxColumns, true);
+	}
+	
+	/**
+	 * Constructor for subclasses that keep the squares themselves. Without
+	 * storage, the subclass must override every method that reads or changes
+	 * the squares, the moved bits or the hash.
+	 * @param maxRows
+	 * @param maxColumns
+	 * @param storage true to allocate the board's own storage
+	 */
+	protected Board(int maxRows, int maxColumns, boolean storage)
 	{
 		nRows = maxRows;
 		nColumns = maxColumns;
-		board = new HashMap<Coordinate, Piece>();
+		rowLimit = maxRows;
+		stride = maxColumns + 1;
+		if (storage) {
+			squares = new Piece[(maxRows + 1) * stride];
+			overflow = new HashMap<Coordinate, Piece>();
+			moved = new long[(squares.length + 63) >>> 6];
+			occupied = new long[moved.length];
+			movedOverflow = new HashSet<Coordinate>();
+			locations = new HashMap<PieceDescriptor, Locations>();
+			locationSlots = new int[squares.length];
+			allocateLines();
+		}
 	}
 	
 	/**
@@ -56,7 +147,20 @@ public class Board
 	 */
 	public Piece getPieceAt(Coordinate c)
 	{
-		return board.get(c);
+		return getPieceAt(c.getRow(), c.getColumn());
+	}
+	
+	/**
+	 * Subclasses that keep squares themselves override this method rather
+	 * than the one taking a Coordinate, which calls it.
+	 * @param row
+	 * @param column
+	 * @return the piece on the square or null if none.
+	 */
+	public Piece getPieceAt(int row, int column)
+	{
+		int ix = squareIndex(row, column);
+		return ix < 0 ? overflow.get(Coordinate.makeCoordinate(row, column)) : squares[ix];
 	}
 	
 	/**
@@ -66,9 +170,23 @@ public class Board
 	 */
 	public void reset(List<SquareInitializer> initializers)
 	{
-		board.clear();
+		Arrays.fill(squares, null);
+		overflow.clear();
+		Arrays.fill(moved, 0L);
+		Arrays.fill(occupied, 0L);
+		Arrays.fill(rowLines, 0L);
+		Arrays.fill(columnLines, 0L);
+		Arrays.fill(diagonalLines, 0L);
+		Arrays.fill(antiDiagonalLines, 0L);
+		for (Locations l : locations.values()) {
+			l.size = 0;
+		}
+		movedOverflow.clear();
+		hash = 0L;
+		reachableStale = true;
+		clearUndo();
 		for (SquareInitializer si : initializers) {
-			board.put(si.getSquare(), si.getPiece());
+			putPieceAt(si.getPiece(), si.getSquare());
 		}
 	}
 	
@@ -76,11 +194,626 @@ public class Board
 	 * Place a piece p at the given location
 	 * @param p the piece to place
 	 * @param c the coordinate of the square
-	 * @return the piece that was placed
+	 * @return the piece that was previously on the square, or null if none
 	 */
 	public Piece putPieceAt(Piece p, Coordinate c)
 	{
-		return board.put(c, p);
+		int row = c.getRow();
+		int column = c.getColumn();
+		int ix = squareIndex(row, column);
+		Piece previous;
+		boolean wasMoved;
+		if (ix < 0) {
+			wasMoved = movedOverflow.remove(c);
+			previous = p == null ? overflow.remove(c) : overflow.put(c, p);
+		} else {
+			previous = squares[ix];
+			squares[ix] = p;
+			wasMoved = (moved[ix >>> 6] & (1L << ix)) != 0;
+			moved[ix >>> 6] &= ~(1L << ix);
+			if ((previous == null) != (p == null)) {
+				occupied[ix >>> 6] ^= 1L << ix;
+				toggleLines(row, column);
+			}
+			if (previous != null) {
+				locations.get(previous.getDescriptor()).remove(ix, locationSlots);
+			}
+			if (p != null) {
+				addLocation(p.getDescriptor(), ix);
+			}
+		}
+		
+		if (previous != null) {
+			hash ^= Zobrist.pieceKey(row, column, previous.getDescriptor());
+		}
+		if (p != null) {
+			hash ^= Zobrist.pieceKey(row, column, p.getDescriptor());
+		}
+		if (wasMoved) {
+			hash ^= Zobrist.movedKey(row, column);
+		}
+		reachableStale = true;
+		return previous;
+	}
+	
+	/**
+	 * @param c the coordinate of the square
+	 * @return true if the piece on the square has moved since it was placed there
+	 */
+	public boolean hasMoved(Coordinate c)
+	{
+		return hasMoved(c.getRow(), c.getColumn());
+	}
+	
+	/**
+	 * Subclasses override this method rather than the one taking a Coordinate.
+	 * @param row
+	 * @param column
+	 * @return true if the piece on the square has moved since it was placed there
+	 */
+	public boolean hasMoved(int row, int column)
+	{
+		int ix = squareIndex(row, column);
+		return ix < 0 ? movedOverflow.contains(Coordinate.makeCoordinate(row, column)) 
+				: (moved[ix >>> 6] & (1L << ix)) != 0;
+	}
+	
+	/**
+	 * Record that the piece on the square has moved. Once it moves, you can't
+	 * change it until another piece is placed on the square.
+	 * @param c the coordinate of the square
+	 */
+	public void setHasMoved(Coordinate c)
+	{
+		int ix = squareIndex(c.getRow(), c.getColumn());
+		if (ix < 0) {
+			if (!movedOverflow.add(c)) {
+				return;
+			}
+		} else {
+			long bit = 1L << ix;
+			if ((moved[ix >>> 6] & bit) != 0) {
+				return;
+			}
+			moved[ix >>> 6] |= bit;
+		}
+		hash ^= Zobrist.movedKey(c.getRow(), c.getColumn());
+		reachableStale = true;
+	}
+	
+	/**
+	 * Move the piece on from to to, capturing any piece there, and mark it as
+	 * moved. The move can be taken back with undoMove.
+	 * @param from the square of the piece
+	 * @param to the square to move it to
+	 * @return the piece captured, or null if none
+	 * @throws IllegalArgumentException if from is empty or from and to are
+	 * 	the same square
+	 */
+	public Piece applyMove(Coordinate from, Coordinate to)
+	{
+		Piece piece = getPieceAt(from);
+		if (piece == null || from.equals(to)) {
+			throw new IllegalArgumentException("Cannot move from " + from + " to " + to);
+		}
+		if (undoSquares == null || undoDepth == undoCaptured.length) {
+			int capacity = undoSquares == null ? 16 : undoCaptured.length * 2;
+			undoSquares = undoSquares == null ? new int[capacity * 2] 
+					: Arrays.copyOf(undoSquares, capacity * 2);
+			if (undoOverflow != null) {
+				undoOverflow = Arrays.copyOf(undoOverflow, capacity * 2);
+			}
+			undoCaptured = undoCaptured == null ? new Piece[capacity] 
+					: Arrays.copyOf(undoCaptured, capacity);
+			undoFlags = undoFlags == null ? new byte[capacity] 
+					: Arrays.copyOf(undoFlags, capacity);
+		}
+		byte flags = (byte) ((hasMoved(from) ? FROM_MOVED : 0) | (hasMoved(to) ? TO_MOVED : 0));
+		Piece captured = putPieceAt(piece, to);
+		putPieceAt(null, from);
+		setHasMoved(to);
+		pushUndoSquare(undoDepth * 2, from);
+		pushUndoSquare(undoDepth * 2 + 1, to);
+		undoCaptured[undoDepth] = captured;
+		undoFlags[undoDepth] = flags;
+		undoDepth++;
+		return captured;
+	}
+	
+	/**
+	 * Take back the last move made with applyMove, restoring the captured
+	 * piece, the moved bits of both squares and so the position hash.
+	 * @throws IllegalStateException if there is no move to take back
+	 */
+	public void undoMove()
+	{
+		if (undoDepth == 0) {
+			throw new IllegalStateException("No move to undo");
+		}
+		undoDepth--;
+		Coordinate from = popUndoSquare(undoDepth * 2);
+		Coordinate to = popUndoSquare(undoDepth * 2 + 1);
+		Piece captured = undoCaptured[undoDepth];
+		byte flags = undoFlags[undoDepth];
+		undoCaptured[undoDepth] = null;
+		
+		putPieceAt(putPieceAt(captured, to), from);
+		if ((flags & FROM_MOVED) != 0) {
+			setHasMoved(from);
+		}
+		if ((flags & TO_MOVED) != 0) {
+			setHasMoved(to);
+		}
+	}
+	
+	/**
+	 * Record one square of a move on the undo stack, by its square index if
+	 * it has one that rowOf and columnOf turn back into the same square.
+	 * @param slot the position on the stack
+	 * @param c the square
+	 */
+	private void pushUndoSquare(int slot, Coordinate c)
+	{
+		int ix = squareIndex(c.getRow(), c.getColumn());
+		if (ix >= 0 && (rowOf(ix) != c.getRow() || columnOf(ix) != c.getColumn())) {
+			ix = -1;
+		}
+		undoSquares[slot] = ix;
+		if (ix < 0) {
+			if (undoOverflow == null) {
+				undoOverflow = new Coordinate[undoSquares.length];
+			}
+			undoOverflow[slot] = c;
+		}
+	}
+	
+	/**
+	 * @param slot the position on the stack
+	 * @return the square recorded there
+	 */
+	private Coordinate popUndoSquare(int slot)
+	{
+		int ix = undoSquares[slot];
+		if (ix >= 0) {
+			return Coordinate.makeCoordinate(rowOf(ix), columnOf(ix));
+		}
+		Coordinate c = undoOverflow[slot];
+		undoOverflow[slot] = null;
+		return c;
+	}
+	
+	/**
+	 * @return the number of moves that undoMove can take back
+	 */
+	public int getUndoDepth()
+	{
+		return undoDepth;
+	}
+	
+	/**
+	 * Forget the moves that could be taken back.
+	 */
+	protected void clearUndo()
+	{
+		if (undoSquares != null) {
+			Arrays.fill(undoCaptured, 0, undoDepth, null);
+		}
+		if (undoOverflow != null) {
+			Arrays.fill(undoOverflow, 0, undoDepth * 2, null);
+		}
+		undoDepth = 0;
+	}
+	
+	/**
+	 * @return a 64-bit hash of the pieces on the board and of which of them
+	 * 	have moved. Equal positions have equal hashes.
+	 */
+	public long positionHash()
+	{
+		return hash;
+	}
+	
+	/**
+	 * Determine whether every square strictly between two squares on the same
+	 * row, column or diagonal is empty. For boards of up to 
+	 * BoardGeometry.MAX_TABLE_SQUARES squares, this ANDs a precomputed mask of
+	 * the squares between with the board's occupancy. For larger boards, it
+	 * tests a range of the occupancy of the line the squares are on, 64
+	 * squares at a time.
+	 * @param fromRow
+	 * @param fromColumn
+	 * @param toRow
+	 * @param toColumn
+	 * @return true if the path is clear, false if it is blocked or the squares
+	 * 	are not on one line
+	 */
+	public boolean isPathClear(int fromRow, int fromColumn, int toRow, int toColumn)
+	{
+		int from = squareIndex(fromRow, fromColumn);
+		int to = squareIndex(toRow, toColumn);
+		if (from < 0 || to < 0 || occupied == null) {
+			return walkPath(fromRow, fromColumn, toRow, toColumn);
+		}
+		if (geometry == null) {
+			geometry = BoardGeometry.of(rowLimit, stride);
+		}
+		if (!geometry.isOnLine(from, to)) {
+			return false;
+		}
+		long[] between = geometry.between(from, to);
+		if (between != null) {
+			for (int w = 0; w < between.length; w++) {
+				if ((between[w] & occupied[w]) != 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if (fromRow == toRow) {
+			return isRangeEmpty(rowLines, fromRow * rowWords, fromColumn, toColumn);
+		}
+		if (fromColumn == toColumn) {
+			return isRangeEmpty(columnLines, fromColumn * lineWords, fromRow, toRow);
+		}
+		if ((toRow - fromRow) == (toColumn - fromColumn)) {
+			return isRangeEmpty(diagonalLines, diagonal(fromRow, fromColumn) * lineWords, 
+					fromRow, toRow);
+		}
+		return isRangeEmpty(antiDiagonalLines, (fromRow + fromColumn) * lineWords, 
+				fromRow, toRow);
+	}
+	
+	/**
+	 * Test a line's occupancy for a range of positions.
+	 * @param lines the occupancy of every line of one kind
+	 * @param offset the index of the line's first word
+	 * @param a the position of one end of the range
+	 * @param b the position of the other end
+	 * @return true if nothing is strictly between a and b
+	 */
+	private static boolean isRangeEmpty(long[] lines, int offset, int a, int b)
+	{
+		int first = Math.min(a, b) + 1;
+		int last = Math.max(a, b) - 1;
+		if (first > last) {
+			return true;
+		}
+		int firstWord = first >>> 6;
+		int lastWord = last >>> 6;
+		long firstMask = -1L << first;
+		long lastMask = -1L >>> (63 - (last & 63));
+		if (firstWord == lastWord) {
+			return (lines[offset + firstWord] & firstMask & lastMask) == 0;
+		}
+		if ((lines[offset + firstWord] & firstMask) != 0 
+				|| (lines[offset + lastWord] & lastMask) != 0) {
+			return false;
+		}
+		for (int w = firstWord + 1; w < lastWord; w++) {
+			if (lines[offset + w] != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Flip a square's bit in the occupancy of each of its lines.
+	 * @param row
+	 * @param column
+	 */
+	private void toggleLines(int row, int column)
+	{
+		rowLines[row * rowWords + (column >>> 6)] ^= 1L << column;
+		columnLines[column * lineWords + (row >>> 6)] ^= 1L << row;
+		diagonalLines[diagonal(row, column) * lineWords + (row >>> 6)] ^= 1L << row;
+		antiDiagonalLines[(row + column) * lineWords + (row >>> 6)] ^= 1L << row;
+	}
+	
+	/**
+	 * @param row
+	 * @param column
+	 * @return the number of the diagonal, on which row - column is constant,
+	 * 	that the square is on
+	 */
+	private int diagonal(int row, int column)
+	{
+		return row - column + stride - 1;
+	}
+	
+	/**
+	 * Make empty line occupancies for the size of the dense storage.
+	 */
+	private void allocateLines()
+	{
+		int lines = rowLimit + stride;	// diagonals and anti-diagonals
+		rowWords = (stride + 63) >>> 6;
+		lineWords = (rowLimit + 64) >>> 6;
+		rowLines = new long[(rowLimit + 1) * rowWords];
+		columnLines = new long[stride * lineWords];
+		diagonalLines = new long[lines * lineWords];
+		antiDiagonalLines = new long[lines * lineWords];
+	}
+	
+	/**
+	 * Test the squares between two squares one at a time, for squares outside
+	 * of the dense storage and for subclasses that keep squares themselves.
+	 * @see #isPathClear(int, int, int, int)
+	 */
+	private boolean walkPath(int fromRow, int fromColumn, int toRow, int toColumn)
+	{
+		int rowDiff = toRow - fromRow;
+		int columnDiff = toColumn - fromColumn;
+		if ((rowDiff == 0 && columnDiff == 0) || (rowDiff != 0 && columnDiff != 0 
+				&& Math.abs(rowDiff) != Math.abs(columnDiff))) {
+			return false;
+		}
+		int rowStep = Integer.signum(rowDiff);
+		int columnStep = Integer.signum(columnDiff);
+		int row = fromRow + rowStep;
+		int column = fromColumn + columnStep;
+		while (row != toRow || column != toColumn) {
+			if (isSpaceOccupied(row, column)) {
+				return false;
+			}
+			row += rowStep;
+			column += columnStep;
+		}
+		return true;
+	}
+	
+	/**
+	 * Find every piece with a descriptor. Boards that keep squares themselves
+	 * and do not override this method look at every square index.
+	 * @param d the descriptor
+	 * @return the squares of the pieces, in no particular order
+	 */
+	public List<Coordinate> getLocations(PieceDescriptor d)
+	{
+		List<Coordinate> result = new ArrayList<Coordinate>();
+		if (squares == null) {
+			for (int ix = 0; ix < squareCount(); ix++) {
+				Piece p = getPieceAt(rowOf(ix), columnOf(ix));
+				if (p != null && p.getDescriptor().equals(d)) {
+					result.add(Coordinate.makeCoordinate(rowOf(ix), columnOf(ix)));
+				}
+			}
+			return result;
+		}
+		Locations l = locations.get(d);
+		for (int i = 0; l != null && i < l.size; i++) {
+			result.add(Coordinate.makeCoordinate(rowOf(l.squares[i]), columnOf(l.squares[i])));
+		}
+		for (Map.Entry<Coordinate, Piece> e : overflow.entrySet()) {
+			if (e.getValue().getDescriptor().equals(d)) {
+				result.add(e.getKey());
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Find every piece with a descriptor that is on a square with a square index.
+	 * @param d the descriptor
+	 * @return the square indices of the pieces, in no particular order
+	 */
+	public int[] getSquareIndices(PieceDescriptor d)
+	{
+		if (squares == null) {
+			List<Coordinate> found = getLocations(d);
+			int[] result = new int[found.size()];
+			int n = 0;
+			for (Coordinate c : found) {
+				int ix = squareIndex(c.getRow(), c.getColumn());
+				if (ix >= 0) {
+					result[n++] = ix;
+				}
+			}
+			return Arrays.copyOf(result, n);
+		}
+		Locations l = locations.get(d);
+		return l == null ? new int[0] : Arrays.copyOf(l.squares, l.size);
+	}
+	
+	/**
+	 * @param d a piece descriptor
+	 * @return the number of pieces on the board with the descriptor
+	 */
+	public int getPieceCount(PieceDescriptor d)
+	{
+		if (squares == null || !overflow.isEmpty()) {
+			return getLocations(d).size();
+		}
+		Locations l = locations.get(d);
+		return l == null ? 0 : l.size;
+	}
+	
+	/**
+	 * Record that a square of the dense storage holds a piece with a descriptor.
+	 * @param d the descriptor
+	 * @param ix the square index
+	 */
+	private void addLocation(PieceDescriptor d, int ix)
+	{
+		Locations l = locations.get(d);
+		if (l == null) {
+			l = new Locations();
+			locations.put(d, l);
+		}
+		l.add(ix, locationSlots);
+	}
+	
+	/**
+	 * The square indices of the pieces with one descriptor. A square is removed
+	 * by moving the last one into its place, so both changes take constant time.
+	 */
+	private static final class Locations
+	{
+		int[] squares = new int[8];
+		int size;
+		
+		void add(int ix, int[] slots)
+		{
+			if (size == squares.length) {
+				squares = Arrays.copyOf(squares, size * 2);
+			}
+			slots[ix] = size;
+			squares[size++] = ix;
+		}
+		
+		void remove(int ix, int[] slots)
+		{
+			int slot = slots[ix];
+			int last = squares[--size];
+			squares[slot] = last;
+			slots[last] = slot;
+		}
+	}
+	
+	/**
+	 * Turn reachability caching on or off. While it is on, Piece implementations
+	 * may answer canMove with canReach.
+	 * @param caching true to turn caching on
+	 */
+	public void setReachabilityCaching(boolean caching)
+	{
+		reachabilityCaching = caching;
+		reachableStale = true;
+		if (!caching) {
+			reachable = null;
+		}
+	}
+	
+	/**
+	 * @return true if reachability caching is on
+	 */
+	public boolean isReachabilityCaching()
+	{
+		return reachabilityCaching;
+	}
+	
+	/**
+	 * Determine, from the reachability of the current position, whether the
+	 * piece on from can move to to. The reachability is computed with
+	 * Piece.generateMoves, so it must not be asked for from within 
+	 * generateMoves. With caching on, it is computed for the whole board the
+	 * first time it is needed after a change; with caching off, it is computed
+	 * for the one piece each time. Squares outside of the dense storage are
+	 * never reachable.
+	 * @param from the starting coordinate
+	 * @param to the ending coordinate
+	 * @return true if the piece on from can move to to
+	 */
+	public boolean canReach(Coordinate from, Coordinate to)
+	{
+		return canReach(squareIndex(from.getRow(), from.getColumn()), 
+				squareIndex(to.getRow(), to.getColumn()));
+	}
+	
+	/**
+	 * Determine, from the reachability of the current position, whether the
+	 * piece on one square can move to another.
+	 * @param fromIx the square index of the piece
+	 * @param toIx the square index of the destination
+	 * @return true if the piece can move there; false if either index is not
+	 * 	a square index of this board
+	 */
+	public boolean canReach(int fromIx, int toIx)
+	{
+		if (fromIx < 0 || toIx < 0 || fromIx >= squareCount() || toIx >= squareCount()) {
+			return false;
+		}
+		if (!reachabilityCaching) {
+			Coordinate from = Coordinate.makeCoordinate(rowOf(fromIx), columnOf(fromIx));
+			Piece p = getPieceAt(from);
+			if (p != null) {
+				for (int ix : p.generateMoves(from, this)) {
+					if (ix == toIx) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+		if (reachableStale || reachable == null) {
+			computeReachability();
+		}
+		long[] targets = reachable[fromIx];
+		return targets != null && (targets[toIx >>> 6] & (1L << toIx)) != 0;
+	}
+	
+	/**
+	 * Fill in the targets of every piece in the dense storage.
+	 */
+	private void computeReachability()
+	{
+		if (reachable == null || reachable.length != squares.length) {
+			reachable = new long[squares.length][];
+		}
+		int words = (squares.length + 63) >>> 6;
+		for (int from = 0; from < squares.length; from++) {
+			if (squares[from] == null) {
+				reachable[from] = null;
+				continue;
+			}
+			long[] targets = reachable[from];
+			if (targets == null) {
+				targets = new long[words];
+				reachable[from] = targets;
+			} else {
+				Arrays.fill(targets, 0L);
+			}
+			Coordinate c = Coordinate.makeCoordinate(rowOf(from), columnOf(from));
+			for (int to : squares[from].generateMoves(c, this)) {
+				targets[to >>> 6] |= 1L << to;
+			}
+		}
+		reachableStale = false;
+	}
+	
+	/**
+	 * Compute the index of a square. Indices identify squares compactly, for
+	 * example in the results of Piece.generateMoves, and are also the positions
+	 * of the squares in the dense storage.
+	 * @param row
+	 * @param column
+	 * @return the index of the square, or -1 if the square lies outside
+	 * 	of the dense storage or its index does not fit in an int
+	 */
+	public int squareIndex(int row, int column)
+	{
+		if (row < 0 || row > rowLimit || column < 0 || column >= stride) {
+			return -1;
+		}
+		long ix = (long) row * stride + column;
+		return ix > Integer.MAX_VALUE ? -1 : (int) ix;
+	}
+	
+	/**
+	 * @return the number of square indices, one more than the largest, or
+	 * 	Integer.MAX_VALUE if there are more
+	 */
+	public int squareCount()
+	{
+		return (int) Math.min(((long) rowLimit + 1) * stride, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * @param index a square index
+	 * @return the row of the square
+	 */
+	public int rowOf(int index)
+	{
+		return index / stride;
+	}
+	
+	/**
+	 * @param index a square index
+	 * @return the column of the square
+	 */
+	public int columnOf(int index)
+	{
+		return index % stride;
 	}
 
 	/**
@@ -97,10 +830,51 @@ public class Board
 	public void setnRows(int nRows)
 	{
 		this.nRows = nRows;
+		reachableStale = true;
+		if (nRows > rowLimit) {
+			squares = Arrays.copyOf(squares, (nRows + 1) * stride);
+			moved = Arrays.copyOf(moved, (squares.length + 63) >>> 6);
+			occupied = Arrays.copyOf(occupied, moved.length);
+			locationSlots = Arrays.copyOf(locationSlots, squares.length);
+			rowLimit = nRows;
+			geometry = null;
+			// Pull in any pieces that now fall inside the dense storage
+			Iterator<Map.Entry<Coordinate, Piece>> it = overflow.entrySet().iterator();
+			while (it.hasNext()) {
+				Map.Entry<Coordinate, Piece> e = it.next();
+				int ix = squareIndex(e.getKey().getRow(), e.getKey().getColumn());
+				if (ix >= 0) {
+					squares[ix] = e.getValue();
+					occupied[ix >>> 6] |= 1L << ix;
+					addLocation(e.getValue().getDescriptor(), ix);
+					if (movedOverflow.remove(e.getKey())) {
+						moved[ix >>> 6] |= 1L << ix;
+					}
+					it.remove();
+				}
+			}
+			allocateLines();
+			for (int ix = 0; ix < squares.length; ix++) {
+				if (squares[ix] != null) {
+					toggleLines(rowOf(ix), columnOf(ix));
+				}
+			}
+		}
 	}
 	
 	public boolean isSpaceOccupied(Coordinate c) 
 	{
-		return board.get(c) != null;
+		return isSpaceOccupied(c.getRow(), c.getColumn());
+	}
+	
+	/**
+	 * Subclasses override this method rather than the one taking a Coordinate.
+	 * @param row
+	 * @param column
+	 * @return true if there is a piece on the square
+	 */
+	public boolean isSpaceOccupied(int row, int column) 
+	{
+		return getPieceAt(row, column) != null;
 	}
 }
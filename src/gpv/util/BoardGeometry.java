@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tables that depend only on the shape of a board's square indices: for every
+ * two squares on the same row, column or diagonal, a mask, by square index, of
+ * the squares strictly between them. Whether two squares are on one line is
+ * whether they have a mask. With an occupancy mask, testing whether the path
+ * between two squares is clear is then one AND per 64 squares.
+ * <br/>
+ * A geometry is built the first time a board of its shape asks for it and
+ * is then shared by every board of that shape. Tables grow with the cube of
+ * the number of squares, so they are only built for boards of at most
+ * MAX_TABLE_SQUARES squares; larger geometries answer from arithmetic on the
+ * indices instead.
+ * @version Oct 18, 2026
+ */
+final class BoardGeometry
+{
+	static final int MAX_TABLE_SQUARES = 256;
+	private static final long[] NOTHING_BETWEEN = new long[0];
+	private static final ConcurrentHashMap<Long, BoardGeometry> geometries =
+			new ConcurrentHashMap<Long, BoardGeometry>();
+	
+	final int rowLimit;
+	final int stride;
+	final int squareCount;
+	private final long[][] between;	// by from * squareCount + to; null if not on a line
+	
+	/**
+	 * Constructor.
+	 * @param rowLimit the largest row
+	 * @param stride one more than the largest column
+	 */
+	private BoardGeometry(int rowLimit, int stride)
+	{
+		this.rowLimit = rowLimit;
+		this.stride = stride;
+		squareCount = (rowLimit + 1) * stride;
+		between = squareCount <= MAX_TABLE_SQUARES ? buildBetween() : null;
+	}
+	
+	/**
+	 * @param rowLimit the largest row of the square indices
+	 * @param stride one more than the largest column
+	 * @return the shared geometry of that shape
+	 */
+	static BoardGeometry of(int rowLimit, int stride)
+	{
+		Long key = ((long) rowLimit << 32) | stride;
+		BoardGeometry g = geometries.get(key);
+		return g != null ? g : geometries.computeIfAbsent(key, k -> new BoardGeometry(rowLimit, stride));
+	}
+	
+	/**
+	 * @param from a square index
+	 * @param to a square index
+	 * @return the index step from one square to the next along the line from
+	 * 	from to to, or 0 if the squares are not on one row, column or diagonal
+	 */
+	int step(int from, int to)
+	{
+		int rowDiff = to / stride - from / stride;
+		int columnDiff = to % stride - from % stride;
+		if (from == to || (rowDiff != 0 && columnDiff != 0 
+				&& Math.abs(rowDiff) != Math.abs(columnDiff))) {
+			return 0;
+		}
+		return Integer.signum(rowDiff) * stride + Integer.signum(columnDiff);
+	}
+	
+	/**
+	 * @param from a square index
+	 * @param to a square index
+	 * @return true if the squares are different and on one row, column or 
+	 * 	diagonal
+	 */
+	boolean isOnLine(int from, int to)
+	{
+		return between != null ? between[from * squareCount + to] != null : step(from, to) != 0;
+	}
+	
+	/**
+	 * @param from a square index
+	 * @param to a square index
+	 * @return a mask of the squares strictly between from and to, an empty
+	 * 	array if they are next to each other, or null if they are not on one line
+	 * 	or the geometry has no tables
+	 */
+	long[] between(int from, int to)
+	{
+		return between == null ? null : between[from * squareCount + to];
+	}
+	
+	/**
+	 * @return the between masks of every pair of squares
+	 */
+	private long[][] buildBetween()
+	{
+		long[][] table = new long[squareCount * squareCount][];
+		int words = (squareCount + 63) >>> 6;
+		for (int from = 0; from < squareCount; from++) {
+			for (int to = 0; to < squareCount; to++) {
+				int step = step(from, to);
+				if (step == 0) {
+					continue;
+				}
+				if (from + step == to) {
+					table[from * squareCount + to] = NOTHING_BETWEEN;
+					continue;
+				}
+				long[] mask = new long[words];
+				for (int ix = from + step; ix != to; ix += step) {
+					mask[ix >>> 6] |= 1L << ix;
+				}
+				table[from * squareCount + to] = mask;
+			}
+		}
+		return table;
+	}
+}
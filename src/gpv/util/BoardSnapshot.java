@@ -0,0 +1,398 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import java.util.*;
+import gpv.*;
+
+/**
+ * An immutable version of a board. A snapshot never changes, so any number of
+ * threads can validate moves against it without locking. The next version of
+ * the position is derived from it with with(), withMoved() or withMove().
+ * <br/>
+ * The squares are held in a persistent 32-way trie indexed by square index.
+ * Deriving a version copies only the path from the root to the changed squares,
+ * so the cost of a move is a few small arrays however large the board is, and
+ * the versions share everything else. Squares outside the dense range, or
+ * whose index does not fit in an int, which are rare, are held in a map that
+ * is copied when one of them changes.
+ * <br/>
+ * A snapshot is a Board, so pieces can validate moves against it, but every
+ * method that would change it throws UnsupportedOperationException.
+ * @version Oct 18, 2026
+ */
+public final class BoardSnapshot extends Board
+{
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+	
+	private final Object[] root;	// leaves hold a Piece, a Moved or null
+	private final int shift;	// the shift of the root level, 0 if the root is a leaf
+	private final Map<Coordinate, Object> overflowEntries;
+	private final long hash;
+	private final long version;
+	
+	/**
+	 * A piece that has moved since it was placed on its square.
+	 */
+	private static final class Moved
+	{
+		final Piece piece;
+		
+		Moved(Piece piece)
+		{
+			this.piece = piece;
+		}
+	}
+	
+	private BoardSnapshot(int maxRows, int maxColumns, Object[] root, int shift,
+			Map<Coordinate, Object> overflowEntries, long hash, long version)
+	{
+		super(maxRows, maxColumns, false);
+		this.root = root;
+		this.shift = shift;
+		this.overflowEntries = overflowEntries;
+		this.hash = hash;
+		this.version = version;
+	}
+	
+	/**
+	 * @param maxRows
+	 * @param maxColumns
+	 * @return an empty snapshot with the given dimensions
+	 */
+	public static BoardSnapshot empty(int maxRows, int maxColumns)
+	{
+		// Squares whose index does not fit in an int are kept in the overflow
+		long size = Math.min(((long) maxRows + 1) * ((long) maxColumns + 1), 1L << 31);
+		int shift = 0;
+		while ((long) WIDTH << shift < size) {
+			shift += BITS;
+		}
+		return new BoardSnapshot(maxRows, maxColumns, new Object[WIDTH], shift,
+				Collections.<Coordinate, Object>emptyMap(), 0L, 0L);
+	}
+	
+	/**
+	 * Take a snapshot of a board. The board must not change while the snapshot
+	 * is taken; for a ConcurrentBoard, take it inside read().
+	 * @param b the board
+	 * @return a snapshot with the same pieces and moved bits as b
+	 */
+	public static BoardSnapshot of(Board b)
+	{
+		if (b instanceof BoardSnapshot) {
+			return (BoardSnapshot) b;
+		}
+		BoardSnapshot s = empty(b.nRows, b.nColumns);
+		for (int ix = 0; ix < b.squareCount(); ix++) {
+			Coordinate c = Coordinate.makeCoordinate(b.rowOf(ix), b.columnOf(ix));
+			Piece p = b.getPieceAt(c);
+			if (p != null) {
+				s = s.derive(c, b.hasMoved(c) ? new Moved(p) : p, 0L);
+			}
+		}
+		if (b.overflow != null) {
+			for (Map.Entry<Coordinate, Piece> e : b.overflow.entrySet()) {
+				Coordinate c = e.getKey();
+				s = s.derive(c, b.hasMoved(c) ? new Moved(e.getValue()) : e.getValue(), 0L);
+			}
+		}
+		return s;
+	}
+	
+	/**
+	 * @return the number of changes made since the first snapshot this one
+	 * 	was derived from was created or taken
+	 */
+	public long version()
+	{
+		return version;
+	}
+	
+	/**
+	 * Derive the version in which p is placed on c. As with putPieceAt, the
+	 * square's moved bit is cleared.
+	 * @param p the piece to place, or null to empty the square
+	 * @param c the coordinate of the square
+	 * @return the new version
+	 */
+	public BoardSnapshot with(Piece p, Coordinate c)
+	{
+		return derive(c, p, version + 1);
+	}
+	
+	/**
+	 * Derive the version in which the piece on c has moved.
+	 * @param c the coordinate of the square
+	 * @return the new version, or this one if the piece had already moved
+	 * 	or the square is empty
+	 */
+	public BoardSnapshot withMoved(Coordinate c)
+	{
+		Object o = entry(c.getRow(), c.getColumn());
+		return o instanceof Piece ? derive(c, new Moved((Piece) o), version + 1) : this;
+	}
+	
+	/**
+	 * Derive the version in which the piece on from has moved to to, capturing
+	 * any piece that was there.
+	 * @param from the square of the piece
+	 * @param to the square to move it to
+	 * @return the new version
+	 * @throws IllegalArgumentException if from is empty or is the same as to
+	 */
+	public BoardSnapshot withMove(Coordinate from, Coordinate to)
+	{
+		Piece p = getPieceAt(from);
+		if (p == null || from.equals(to)) {
+			throw new IllegalArgumentException("Cannot move from " + from + " to " + to);
+		}
+		return derive(from, null, version + 1).derive(to, new Moved(p), version + 1);
+	}
+	
+	/*
+	 * @see gpv.util.Board#getPieceAt(int, int)
+	 */
+	@Override
+	public Piece getPieceAt(int row, int column)
+	{
+		Object o = entry(row, column);
+		return o == null ? null : pieceOf(o);
+	}
+	
+	/*
+	 * @see gpv.util.Board#hasMoved(int, int)
+	 */
+	@Override
+	public boolean hasMoved(int row, int column)
+	{
+		return entry(row, column) instanceof Moved;
+	}
+	
+	/*
+	 * @see gpv.util.Board#positionHash()
+	 */
+	@Override
+	public long positionHash()
+	{
+		return hash;
+	}
+	
+	/**
+	 * Only the parts of the trie that hold pieces are visited.
+	 * @see gpv.util.Board#getLocations(gpv.PieceDescriptor)
+	 */
+	@Override
+	public List<Coordinate> getLocations(PieceDescriptor d)
+	{
+		List<Coordinate> result = new ArrayList<Coordinate>();
+		collect(d, root, shift, 0, result);
+		for (Map.Entry<Coordinate, Object> e : overflowEntries.entrySet()) {
+			if (pieceOf(e.getValue()).getDescriptor().equals(d)) {
+				result.add(e.getKey());
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Add the squares under a node of the trie that hold a descriptor's pieces.
+	 * @param d the descriptor
+	 * @param node the node
+	 * @param level the shift of the node's level
+	 * @param first the square index of the node's first square
+	 * @param result where to add them
+	 */
+	private void collect(PieceDescriptor d, Object[] node, int level, int first, 
+			List<Coordinate> result)
+	{
+		for (int slot = 0; slot < WIDTH; slot++) {
+			Object o = node[slot];
+			if (o == null) {
+				continue;
+			}
+			int ix = first + (slot << level);
+			if (level > 0) {
+				collect(d, (Object[]) o, level - BITS, ix, result);
+			} else if (pieceOf(o).getDescriptor().equals(d)) {
+				result.add(Coordinate.makeCoordinate(rowOf(ix), columnOf(ix)));
+			}
+		}
+	}
+	
+	/**
+	 * @param o what a snapshot holds for an occupied square
+	 * @return the piece on the square
+	 */
+	private static Piece pieceOf(Object o)
+	{
+		return o instanceof Moved ? ((Moved) o).piece : (Piece) o;
+	}
+	
+	/**
+	 * Reachability caching cannot be turned on for a snapshot.
+	 * @see gpv.util.Board#setReachabilityCaching(boolean)
+	 */
+	@Override
+	public void setReachabilityCaching(boolean caching)
+	{
+		if (caching) {
+			throw new UnsupportedOperationException("A snapshot cannot cache reachability");
+		}
+	}
+	
+	/*
+	 * @see gpv.util.Board#putPieceAt(gpv.Piece, gpv.util.Coordinate)
+	 */
+	@Override
+	public Piece putPieceAt(Piece p, Coordinate c)
+	{
+		throw new UnsupportedOperationException("A snapshot cannot be changed; use with()");
+	}
+	
+	/*
+	 * @see gpv.util.Board#setHasMoved(gpv.util.Coordinate)
+	 */
+	@Override
+	public void setHasMoved(Coordinate c)
+	{
+		throw new UnsupportedOperationException("A snapshot cannot be changed; use withMoved()");
+	}
+	
+	/*
+	 * @see gpv.util.Board#applyMove(gpv.util.Coordinate, gpv.util.Coordinate)
+	 */
+	@Override
+	public Piece applyMove(Coordinate from, Coordinate to)
+	{
+		throw new UnsupportedOperationException("A snapshot cannot be changed; use withMove()");
+	}
+	
+	/*
+	 * @see gpv.util.Board#undoMove()
+	 */
+	@Override
+	public void undoMove()
+	{
+		throw new UnsupportedOperationException("A snapshot cannot be changed");
+	}
+	
+	/*
+	 * @see gpv.util.Board#reset(java.util.List)
+	 */
+	@Override
+	public void reset(List<SquareInitializer> initializers)
+	{
+		throw new UnsupportedOperationException("A snapshot cannot be changed");
+	}
+	
+	/*
+	 * @see gpv.util.Board#setnRows(int)
+	 */
+	@Override
+	public void setnRows(int nRows)
+	{
+		throw new UnsupportedOperationException("A snapshot cannot be changed");
+	}
+	
+	/**
+	 * @param row
+	 * @param column
+	 * @return what the snapshot holds for the square
+	 */
+	private Object entry(int row, int column)
+	{
+		int ix = squareIndex(row, column);
+		if (ix < 0) {
+			return overflowEntries.get(Coordinate.makeCoordinate(row, column));
+		}
+		Object[] node = root;
+		for (int level = shift; level > 0; level -= BITS) {
+			node = (Object[]) node[(ix >>> level) & MASK];
+			if (node == null) {
+				return null;
+			}
+		}
+		return node[ix & MASK];
+	}
+	
+	/**
+	 * Derive the version in which the square holds value.
+	 * @param c the coordinate of the square
+	 * @param value a Piece, a Moved or null
+	 * @param nextVersion the version number of the new version
+	 * @return the new version
+	 */
+	private BoardSnapshot derive(Coordinate c, Object value, long nextVersion)
+	{
+		Object previous = entry(c.getRow(), c.getColumn());
+		if (previous == value) {
+			return this;
+		}
+		long h = hash ^ hashOf(c, previous) ^ hashOf(c, value);
+		int ix = squareIndex(c.getRow(), c.getColumn());
+		Object[] newRoot = root;
+		Map<Coordinate, Object> newOverflow = overflowEntries;
+		if (ix < 0) {
+			newOverflow = new HashMap<Coordinate, Object>(overflowEntries);
+			if (value == null) {
+				newOverflow.remove(c);
+			} else {
+				newOverflow.put(c, value);
+			}
+			newOverflow = Collections.unmodifiableMap(newOverflow);
+		} else {
+			newRoot = assoc(root, shift, ix, value);
+		}
+		return new BoardSnapshot(nRows, nColumns, newRoot, shift, newOverflow, h, nextVersion);
+	}
+	
+	/**
+	 * Copy the path to a leaf and set it.
+	 * @param node the node to copy, or null for an empty one
+	 * @param level the shift of the node's level
+	 * @param ix the square index
+	 * @param value the new value of the leaf
+	 * @return the copy
+	 */
+	private static Object[] assoc(Object[] node, int level, int ix, Object value)
+	{
+		Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+		if (level == 0) {
+			copy[ix & MASK] = value;
+		} else {
+			int slot = (ix >>> level) & MASK;
+			copy[slot] = assoc((Object[]) copy[slot], level - BITS, ix, value);
+		}
+		return copy;
+	}
+	
+	/**
+	 * @param c the coordinate of a square
+	 * @param o what a snapshot holds for the square
+	 * @return the square's contribution to the position hash
+	 */
+	private static long hashOf(Coordinate c, Object o)
+	{
+		if (o == null) {
+			return 0L;
+		}
+		if (o instanceof Moved) {
+			return Zobrist.pieceKey(c.getRow(), c.getColumn(), ((Moved) o).piece.getDescriptor())
+					^ Zobrist.movedKey(c.getRow(), c.getColumn());
+		}
+		return Zobrist.pieceKey(c.getRow(), c.getColumn(), ((Piece) o).getDescriptor());
+	}
+}
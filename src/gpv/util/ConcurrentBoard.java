@@ -0,0 +1,415 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.*;
+import gpv.*;
+
+/**
+ * A board that one thread can change while any number of other threads read
+ * it and validate moves against it.
+ * <br/>
+ * Reads use the optimistic mode of a StampedLock: they read without locking
+ * and then check that no write happened meanwhile, retrying if one did. A
+ * reader only takes the read lock if writes keep getting in the way, after
+ * MAX_OPTIMISTIC_ATTEMPTS tries. Writes take the write lock. A whole move, or
+ * any other group of changes, can be made atomically with update(), and a
+ * group of reads can be made consistently with read() or canMove().
+ * <br/>
+ * Reachability caching is not supported, because it would make readers write.
+ * @version Oct 18, 2026
+ */
+public class ConcurrentBoard extends Board
+{
+	public static final int MAX_OPTIMISTIC_ATTEMPTS = 64;
+	
+	private final StampedLock lock = new StampedLock();
+	private volatile Thread writer;	// the thread inside update(), if any
+	
+	/**
+	 * Constructor for an uninitialized board with given dimensions.
+	 * @param maxRows
+	 * @param maxColumns
+	 */
+	public ConcurrentBoard(int maxRows, int maxColumns)
+	{
+		super(maxRows, maxColumns);
+	}
+	
+	/**
+	 * Constructor that also initializes the board.
+	 * @param maxRows
+	 * @param maxColumns
+	 * @param initializers
+	 */
+	public ConcurrentBoard(int maxRows, int maxColumns, List<SquareInitializer> initializers)
+	{
+		this(maxRows, maxColumns);
+		reset(initializers);
+	}
+	
+	/**
+	 * Determine whether the piece on from can move to to, with every square the
+	 * piece looks at read from the same version of the board.
+	 * @param from the starting coordinate
+	 * @param to the ending coordinate
+	 * @return true if the move can be made, false if not or if from is empty
+	 */
+	public boolean canMove(Coordinate from, Coordinate to)
+	{
+		if (isWriter()) {
+			Piece p = super.getPieceAt(from.getRow(), from.getColumn());
+			return p != null && p.canMove(from, to, this);
+		}
+		for (int attempt = 0; ; attempt++) {
+			long stamp = beginRead(attempt);
+			try {
+				Piece p = super.getPieceAt(from.getRow(), from.getColumn());
+				boolean result = p != null && p.canMove(from, to, this);
+				if (endRead(stamp, attempt)) {
+					return result;
+				}
+			} catch (RuntimeException e) {
+				if (endRead(stamp, attempt)) {
+					throw e;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Run a query against one consistent version of the board. The query may
+	 * be run more than once, so it must not have side effects.
+	 * @param query the query
+	 * @return the result of the query
+	 */
+	public <T> T read(Function<? super Board, T> query)
+	{
+		if (isWriter()) {
+			return query.apply(this);
+		}
+		for (int attempt = 0; ; attempt++) {
+			long stamp = beginRead(attempt);
+			try {
+				T result = query.apply(this);
+				if (endRead(stamp, attempt)) {
+					return result;
+				}
+			} catch (RuntimeException e) {
+				if (endRead(stamp, attempt)) {
+					throw e;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Make a group of changes, such as a whole move, atomically. Readers see
+	 * either none of the changes or all of them.
+	 * @param changes the changes, made to the board passed to them
+	 */
+	public void update(Consumer<? super Board> changes)
+	{
+		if (isWriter()) {
+			changes.accept(this);
+			return;
+		}
+		long stamp = beginWrite();
+		try {
+			changes.accept(this);
+		} finally {
+			endWrite(stamp);
+		}
+	}
+	
+	/*
+	 * @see gpv.util.Board#applyMove(gpv.util.Coordinate, gpv.util.Coordinate)
+	 */
+	@Override
+	public Piece applyMove(Coordinate from, Coordinate to)
+	{
+		if (isWriter()) {
+			return super.applyMove(from, to);
+		}
+		long stamp = beginWrite();
+		try {
+			return super.applyMove(from, to);
+		} finally {
+			endWrite(stamp);
+		}
+	}
+	
+	/*
+	 * @see gpv.util.Board#undoMove()
+	 */
+	@Override
+	public void undoMove()
+	{
+		if (isWriter()) {
+			super.undoMove();
+			return;
+		}
+		long stamp = beginWrite();
+		try {
+			super.undoMove();
+		} finally {
+			endWrite(stamp);
+		}
+	}
+	
+	/*
+	 * @see gpv.util.Board#getPieceAt(int, int)
+	 */
+	@Override
+	public Piece getPieceAt(int row, int column)
+	{
+		if (isWriter()) {
+			return super.getPieceAt(row, column);
+		}
+		for (int attempt = 0; ; attempt++) {
+			long stamp = beginRead(attempt);
+			try {
+				Piece p = super.getPieceAt(row, column);
+				if (endRead(stamp, attempt)) {
+					return p;
+				}
+			} catch (RuntimeException e) {
+				if (endRead(stamp, attempt)) {
+					throw e;
+				}
+			}
+		}
+	}
+	
+	/*
+	 * @see gpv.util.Board#hasMoved(int, int)
+	 */
+	@Override
+	public boolean hasMoved(int row, int column)
+	{
+		if (isWriter()) {
+			return super.hasMoved(row, column);
+		}
+		for (int attempt = 0; ; attempt++) {
+			long stamp = beginRead(attempt);
+			try {
+				boolean moved = super.hasMoved(row, column);
+				if (endRead(stamp, attempt)) {
+					return moved;
+				}
+			} catch (RuntimeException e) {
+				if (endRead(stamp, attempt)) {
+					throw e;
+				}
+			}
+		}
+	}
+	
+	/*
+	 * @see gpv.util.Board#isPathClear(int, int, int, int)
+	 */
+	@Override
+	public boolean isPathClear(int fromRow, int fromColumn, int toRow, int toColumn)
+	{
+		if (isWriter()) {
+			return super.isPathClear(fromRow, fromColumn, toRow, toColumn);
+		}
+		for (int attempt = 0; ; attempt++) {
+			long stamp = beginRead(attempt);
+			try {
+				boolean clear = super.isPathClear(fromRow, fromColumn, toRow, toColumn);
+				if (endRead(stamp, attempt)) {
+					return clear;
+				}
+			} catch (RuntimeException e) {
+				if (endRead(stamp, attempt)) {
+					throw e;
+				}
+			}
+		}
+	}
+	
+	/*
+	 * @see gpv.util.Board#getLocations(gpv.PieceDescriptor)
+	 */
+	@Override
+	public List<Coordinate> getLocations(PieceDescriptor d)
+	{
+		return read(b -> super.getLocations(d));
+	}
+	
+	/*
+	 * @see gpv.util.Board#getSquareIndices(gpv.PieceDescriptor)
+	 */
+	@Override
+	public int[] getSquareIndices(PieceDescriptor d)
+	{
+		return read(b -> super.getSquareIndices(d));
+	}
+	
+	/*
+	 * @see gpv.util.Board#getPieceCount(gpv.PieceDescriptor)
+	 */
+	@Override
+	public int getPieceCount(PieceDescriptor d)
+	{
+		return read(b -> super.getPieceCount(d));
+	}
+	
+	/*
+	 * @see gpv.util.Board#positionHash()
+	 */
+	@Override
+	public long positionHash()
+	{
+		if (isWriter()) {
+			return super.positionHash();
+		}
+		for (int attempt = 0; ; attempt++) {
+			long stamp = beginRead(attempt);
+			long hash = super.positionHash();
+			if (endRead(stamp, attempt)) {
+				return hash;
+			}
+		}
+	}
+	
+	/*
+	 * @see gpv.util.Board#putPieceAt(gpv.Piece, gpv.util.Coordinate)
+	 */
+	@Override
+	public Piece putPieceAt(Piece p, Coordinate c)
+	{
+		if (isWriter()) {
+			return super.putPieceAt(p, c);
+		}
+		long stamp = beginWrite();
+		try {
+			return super.putPieceAt(p, c);
+		} finally {
+			endWrite(stamp);
+		}
+	}
+	
+	/*
+	 * @see gpv.util.Board#setHasMoved(gpv.util.Coordinate)
+	 */
+	@Override
+	public void setHasMoved(Coordinate c)
+	{
+		if (isWriter()) {
+			super.setHasMoved(c);
+			return;
+		}
+		long stamp = beginWrite();
+		try {
+			super.setHasMoved(c);
+		} finally {
+			endWrite(stamp);
+		}
+	}
+	
+	/*
+	 * @see gpv.util.Board#reset(java.util.List)
+	 */
+	@Override
+	public void reset(List<SquareInitializer> initializers)
+	{
+		update(b -> super.reset(initializers));
+	}
+	
+	/*
+	 * @see gpv.util.Board#setnRows(int)
+	 */
+	@Override
+	public void setnRows(int nRows)
+	{
+		update(b -> super.setnRows(nRows));
+	}
+	
+	/**
+	 * Reachability caching cannot be turned on for a concurrent board.
+	 * @see gpv.util.Board#setReachabilityCaching(boolean)
+	 */
+	@Override
+	public void setReachabilityCaching(boolean caching)
+	{
+		if (caching) {
+			throw new UnsupportedOperationException("A concurrent board cannot cache reachability");
+		}
+	}
+	
+	/**
+	 * @return true if the current thread is making changes inside update()
+	 */
+	private boolean isWriter()
+	{
+		return writer == Thread.currentThread();
+	}
+	
+	/**
+	 * Take the write lock, so that the changes the current thread makes
+	 * through the overridden methods do not try to take it again.
+	 * @return the write lock stamp
+	 */
+	private long beginWrite()
+	{
+		long stamp = lock.writeLock();
+		writer = Thread.currentThread();
+		return stamp;
+	}
+	
+	/**
+	 * Release the write lock.
+	 * @param stamp the stamp from beginWrite
+	 */
+	private void endWrite(long stamp)
+	{
+		writer = null;
+		lock.unlockWrite(stamp);
+	}
+	
+	/**
+	 * Start a read.
+	 * @param attempt the number of earlier attempts at this read
+	 * @return an optimistic stamp, or a read lock stamp once the attempts
+	 * 	are used up
+	 */
+	private long beginRead(int attempt)
+	{
+		if (attempt >= MAX_OPTIMISTIC_ATTEMPTS) {
+			return lock.readLock();
+		}
+		if (attempt > 0) {
+			Thread.yield();
+		}
+		return lock.tryOptimisticRead();
+	}
+	
+	/**
+	 * Finish a read.
+	 * @param stamp the stamp from beginRead
+	 * @param attempt the attempt passed to beginRead
+	 * @return true if what was read is consistent
+	 */
+	private boolean endRead(long stamp, int attempt)
+	{
+		if (attempt >= MAX_OPTIMISTIC_ATTEMPTS) {
+			lock.unlockRead(stamp);
+			return true;
+		}
+		return lock.validate(stamp);
+	}
+}
@@ -23,12 +23,20 @@ import java.awt.Point;
  * used as keys in collections that use hashing (e.g. HashMap) and a
  * toString() to print the coordinate in some readable form. This is
  * useful for debugging.
+ * <br/>
+ * Coordinates are immutable: the methods that would move a Point throw.
+ * Point's x and y fields are still public, so makeCoordinate returns a new
+ * instance every time and none is ever shared between callers. Code that
+ * wants shared, interned values uses Location, which does not extend Point.
+ * <br/>
+ * Coordinate stays a subclass of java.awt.Point because it is part of the
+ * public Board and Piece API. Location is the lightweight, AWT-free value
+ * type with the same row and column, and toLocation converts to it.
  * 
  * @version Feb 21, 2020
  */
 public class Coordinate extends Point
 {
-	
 	/**
 	 * The only constructor. It is private to avoid any client from
 	 * creating one for a purpose not intended.
@@ -43,12 +51,11 @@ public class Coordinate extends Point
 	}
 	
 	/**
-	 * Factory method. This only creates a Coordinate if it hasn't been created
-	 * already.
+	 * Factory method. Each call creates a new Coordinate.
 	 * 
 	 * @param row
 	 * @param column
-	 * @return
+	 * @return the coordinate
 	 */
 	public static Coordinate makeCoordinate(int row, int column)
 	{
@@ -97,13 +104,72 @@ public class Coordinate extends Point
 		return this.y;
 	}
 
+	/**
+	 * Coordinates are used as keys, so they cannot be moved.
+	 * @see java.awt.Point#setLocation(int, int)
+	 */
+	@Override
+	public void setLocation(int x, int y)
+	{
+		throw new UnsupportedOperationException("Coordinates are immutable");
+	}
+
+	/**
+	 * Coordinates are used as keys, so they cannot be moved.
+	 * @see java.awt.Point#setLocation(double, double)
+	 */
+	@Override
+	public void setLocation(double x, double y)
+	{
+		throw new UnsupportedOperationException("Coordinates are immutable");
+	}
+
+	/**
+	 * Coordinates are used as keys, so they cannot be moved.
+	 * @see java.awt.Point#setLocation(java.awt.Point)
+	 */
+	@Override
+	public void setLocation(Point p)
+	{
+		throw new UnsupportedOperationException("Coordinates are immutable");
+	}
+
+	/**
+	 * Coordinates are used as keys, so they cannot be moved.
+	 * @see java.awt.Point#move(int, int)
+	 */
+	@Override
+	public void move(int x, int y)
+	{
+		throw new UnsupportedOperationException("Coordinates are immutable");
+	}
+
+	/**
+	 * Coordinates are used as keys, so they cannot be moved.
+	 * @see java.awt.Point#translate(int, int)
+	 */
+	@Override
+	public void translate(int dx, int dy)
+	{
+		throw new UnsupportedOperationException("Coordinates are immutable");
+	}
+
+	/**
+	 * @return the Location with the same row and column
+	 */
+	public Location toLocation()
+	{
+		return Location.fromCoordinate(this);
+	}
+
 	/*
+	 * Uses the ints directly rather than Point2D's double-based hash.
 	 * @see java.lang.Object#hashCode()
 	 */
 	@Override
 	public int hashCode()
 	{
-		return super.hashCode();
+		return 31 * x + y;
 	}
 
 	/*
@@ -115,13 +181,11 @@ public class Coordinate extends Point
 		if (this == obj) {
 			return true;
 		}
-		if (!super.equals(obj)) {
-			return false;
-		}
 		if (!(obj instanceof Coordinate)) {
 			return false;
 		}
-		return true;
+		Coordinate other = (Coordinate) obj;
+		return x == other.x && y == other.y;
 	}
 
 	/*
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+/**
+ * A lightweight, immutable row and column pair. Unlike Coordinate it does not
+ * extend java.awt.Point, so using it loads no AWT classes, and its equals()
+ * and hashCode() only look at two ints.
+ * <br/>
+ * Locations are interned: every location whose row and column are both
+ * between CACHE_MIN and CACHE_MAX is built once, when the class is loaded,
+ * and the factory methods return that instance. Such locations can be
+ * compared with ==. Locations outside of that range are created on demand
+ * and must be compared with equals().
+ * <br/>
+ * A location can also be packed into a single long, with the row in the high
+ * 32 bits and the column in the low 32 bits, for code that wants to avoid
+ * objects entirely. Every int row and column fits.
+ * 
+ * @version Oct 18, 2026
+ */
+public final class Location
+{
+	public static final int CACHE_MIN = -2;
+	public static final int CACHE_MAX = 63;
+	private static final int CACHE_SPAN = CACHE_MAX - CACHE_MIN + 1;
+	private static final Location[] cache = new Location[CACHE_SPAN * CACHE_SPAN];
+	
+	static {
+		for (int row = CACHE_MIN; row <= CACHE_MAX; row++) {
+			for (int column = CACHE_MIN; column <= CACHE_MAX; column++) {
+				cache[(row - CACHE_MIN) * CACHE_SPAN + column - CACHE_MIN] = new Location(row, column);
+			}
+		}
+	}
+	
+	private final int row;
+	private final int column;
+	
+	/**
+	 * The only constructor. Use the factory methods.
+	 * @param row
+	 * @param column
+	 */
+	private Location(int row, int column)
+	{
+		this.row = row;
+		this.column = column;
+	}
+	
+	/**
+	 * Factory method. This only creates a Location if the row or column lies
+	 * outside of the cached range.
+	 * @param row
+	 * @param column
+	 * @return the location
+	 */
+	public static Location makeLocation(int row, int column)
+	{
+		if (row >= CACHE_MIN && row <= CACHE_MAX && column >= CACHE_MIN && column <= CACHE_MAX) {
+			return cache[(row - CACHE_MIN) * CACHE_SPAN + column - CACHE_MIN];
+		}
+		return new Location(row, column);
+	}
+	
+	/**
+	 * Convert from a Coordinate.
+	 * @param c the coordinate
+	 * @return the location with the same row and column
+	 */
+	public static Location fromCoordinate(Coordinate c)
+	{
+		return makeLocation(c.getRow(), c.getColumn());
+	}
+	
+	/**
+	 * @return the Coordinate with the same row and column
+	 */
+	public Coordinate toCoordinate()
+	{
+		return Coordinate.makeCoordinate(row, column);
+	}
+	
+	/**
+	 * @param row
+	 * @param column
+	 * @return the row and column packed into one long
+	 */
+	public static long pack(int row, int column)
+	{
+		return (long) row << 32 | column & 0xFFFFFFFFL;
+	}
+	
+	/**
+	 * @param packed a packed location
+	 * @return the row of the packed location
+	 */
+	public static int packedRow(long packed)
+	{
+		return (int) (packed >> 32);
+	}
+	
+	/**
+	 * @param packed a packed location
+	 * @return the column of the packed location
+	 */
+	public static int packedColumn(long packed)
+	{
+		return (int) packed;
+	}
+	
+	/**
+	 * @return this location packed into one long
+	 */
+	public long pack()
+	{
+		return pack(row, column);
+	}
+	
+	/**
+	 * @param packed a packed location
+	 * @return the location
+	 */
+	public static Location unpack(long packed)
+	{
+		return makeLocation(packedRow(packed), packedColumn(packed));
+	}
+	
+	/**
+	 * @return the row
+	 */
+	public int getRow()
+	{
+		return row;
+	}
+	
+	/**
+	 * @return the column
+	 */
+	public int getColumn()
+	{
+		return column;
+	}
+
+	/*
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode()
+	{
+		return 31 * row + column;
+	}
+
+	/*
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Location)) {
+			return false;
+		}
+		Location other = (Location) obj;
+		return row == other.row && column == other.column;
+	}
+
+	/*
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return "(" + row + ", " + column + ")";
+	}
+}
@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import java.util.*;
+import gpv.*;
+
+/**
+ * A board made of the changes to another board. The overlay records the
+ * squares that change in a small map and answers every query from that map
+ * first and from the base board otherwise, so making one, changing it and
+ * throwing it away costs in proportion to the changes, not to the size of the
+ * board. The base board is never written, so any number of threads can each
+ * try out a line of moves on their own overlay over one base position, as long
+ * as nothing changes the base meanwhile.
+ * <br/>
+ * Reachability caching is not supported; canReach computes reachability for
+ * the one piece asked about.
+ * @version Oct 18, 2026
+ */
+public class OverlayBoard extends Board
+{
+	private final Board base;
+	private final Map<Coordinate, Change> changes;
+	private long hashDelta;
+	
+	/**
+	 * What an overlay holds for a changed square.
+	 */
+	private static final class Change
+	{
+		Piece piece;
+		boolean moved;
+	}
+	
+	/**
+	 * Constructor.
+	 * @param base the board to lay the changes over
+	 */
+	public OverlayBoard(Board base)
+	{
+		super(base.nRows, base.nColumns, false);
+		this.base = base;
+		changes = new HashMap<Coordinate, Change>();
+	}
+	
+	/**
+	 * @return the board the changes are laid over
+	 */
+	public Board getBase()
+	{
+		return base;
+	}
+	
+	/**
+	 * @return the number of squares that differ, or may differ, from the base
+	 */
+	public int changeCount()
+	{
+		return changes.size();
+	}
+	
+	/**
+	 * Drop every change, so that the overlay matches its base again.
+	 */
+	public void revert()
+	{
+		changes.clear();
+		hashDelta = 0L;
+		clearUndo();
+	}
+	
+	/*
+	 * @see gpv.util.Board#getPieceAt(int, int)
+	 */
+	@Override
+	public Piece getPieceAt(int row, int column)
+	{
+		Change change = changeAt(row, column);
+		return change == null ? base.getPieceAt(row, column) : change.piece;
+	}
+	
+	/*
+	 * @see gpv.util.Board#isSpaceOccupied(int, int)
+	 */
+	@Override
+	public boolean isSpaceOccupied(int row, int column)
+	{
+		Change change = changeAt(row, column);
+		return change == null ? base.isSpaceOccupied(row, column) : change.piece != null;
+	}
+	
+	/*
+	 * @see gpv.util.Board#hasMoved(int, int)
+	 */
+	@Override
+	public boolean hasMoved(int row, int column)
+	{
+		Change change = changeAt(row, column);
+		return change == null ? base.hasMoved(row, column) : change.moved;
+	}
+	
+	/*
+	 * @see gpv.util.Board#putPieceAt(gpv.Piece, gpv.util.Coordinate)
+	 */
+	@Override
+	public Piece putPieceAt(Piece p, Coordinate c)
+	{
+		Change change = changes.get(c);
+		Piece previous;
+		boolean wasMoved;
+		if (change == null) {
+			previous = base.getPieceAt(c);
+			wasMoved = base.hasMoved(c);
+			change = new Change();
+			changes.put(c, change);
+		} else {
+			previous = change.piece;
+			wasMoved = change.moved;
+		}
+		change.piece = p;
+		change.moved = false;
+		
+		int row = c.getRow();
+		int column = c.getColumn();
+		if (previous != null) {
+			hashDelta ^= Zobrist.pieceKey(row, column, previous.getDescriptor());
+		}
+		if (p != null) {
+			hashDelta ^= Zobrist.pieceKey(row, column, p.getDescriptor());
+		}
+		if (wasMoved) {
+			hashDelta ^= Zobrist.movedKey(row, column);
+		}
+		return previous;
+	}
+	
+	/*
+	 * @see gpv.util.Board#setHasMoved(gpv.util.Coordinate)
+	 */
+	@Override
+	public void setHasMoved(Coordinate c)
+	{
+		Change change = changes.get(c);
+		if (change == null) {
+			if (base.hasMoved(c)) {
+				return;
+			}
+			change = new Change();
+			change.piece = base.getPieceAt(c);
+			changes.put(c, change);
+		} else if (change.moved) {
+			return;
+		}
+		change.moved = true;
+		hashDelta ^= Zobrist.movedKey(c.getRow(), c.getColumn());
+	}
+	
+	/**
+	 * The base's pieces, less those on changed squares, plus the changed
+	 * squares that hold a piece with the descriptor.
+	 * @see gpv.util.Board#getLocations(gpv.PieceDescriptor)
+	 */
+	@Override
+	public List<Coordinate> getLocations(PieceDescriptor d)
+	{
+		List<Coordinate> result = new ArrayList<Coordinate>();
+		for (Coordinate c : base.getLocations(d)) {
+			if (!changes.containsKey(c)) {
+				result.add(c);
+			}
+		}
+		for (Map.Entry<Coordinate, Change> e : changes.entrySet()) {
+			Piece p = e.getValue().piece;
+			if (p != null && p.getDescriptor().equals(d)) {
+				result.add(e.getKey());
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * @param row
+	 * @param column
+	 * @return the change to the square, or null if it has not changed
+	 */
+	private Change changeAt(int row, int column)
+	{
+		return changes.isEmpty() ? null : changes.get(Coordinate.makeCoordinate(row, column));
+	}
+	
+	/*
+	 * @see gpv.util.Board#squareIndex(int, int)
+	 */
+	@Override
+	public int squareIndex(int row, int column)
+	{
+		return base.squareIndex(row, column);
+	}
+	
+	/*
+	 * @see gpv.util.Board#squareCount()
+	 */
+	@Override
+	public int squareCount()
+	{
+		return base.squareCount();
+	}
+	
+	/*
+	 * @see gpv.util.Board#rowOf(int)
+	 */
+	@Override
+	public int rowOf(int index)
+	{
+		return base.rowOf(index);
+	}
+	
+	/*
+	 * @see gpv.util.Board#columnOf(int)
+	 */
+	@Override
+	public int columnOf(int index)
+	{
+		return base.columnOf(index);
+	}
+	
+	/*
+	 * @see gpv.util.Board#positionHash()
+	 */
+	@Override
+	public long positionHash()
+	{
+		return base.positionHash() ^ hashDelta;
+	}
+	
+	/**
+	 * Reachability caching cannot be turned on for an overlay.
+	 * @see gpv.util.Board#setReachabilityCaching(boolean)
+	 */
+	@Override
+	public void setReachabilityCaching(boolean caching)
+	{
+		if (caching) {
+			throw new UnsupportedOperationException("An overlay cannot cache reachability");
+		}
+	}
+	
+	/**
+	 * An overlay cannot be reset, since that would change every square; use 
+	 * revert() to drop the changes.
+	 * @see gpv.util.Board#reset(java.util.List)
+	 */
+	@Override
+	public void reset(List<SquareInitializer> initializers)
+	{
+		throw new UnsupportedOperationException("An overlay cannot be reset; use revert()");
+	}
+	
+	/*
+	 * @see gpv.util.Board#setnRows(int)
+	 */
+	@Override
+	public void setnRows(int nRows)
+	{
+		throw new UnsupportedOperationException("An overlay cannot be resized");
+	}
+}
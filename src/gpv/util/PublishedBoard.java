@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current version of a position, read-copy-update style. Readers
+ * take the current snapshot and validate against it for as long as they like;
+ * writers derive the next snapshot and swap it in atomically. A reader that
+ * took an older snapshot keeps a consistent view of it.
+ * @version Oct 18, 2026
+ */
+public class PublishedBoard
+{
+	private final AtomicReference<BoardSnapshot> current;
+	
+	/**
+	 * Constructor.
+	 * @param initial the first version
+	 */
+	public PublishedBoard(BoardSnapshot initial)
+	{
+		current = new AtomicReference<BoardSnapshot>(initial);
+	}
+	
+	/**
+	 * @return the current version
+	 */
+	public BoardSnapshot current()
+	{
+		return current.get();
+	}
+	
+	/**
+	 * Make next the current version, whatever the current version is.
+	 * @param next the new version
+	 */
+	public void publish(BoardSnapshot next)
+	{
+		current.set(next);
+	}
+	
+	/**
+	 * Make next the current version only if expected still is.
+	 * @param expected the version next was derived from
+	 * @param next the new version
+	 * @return true if next was published
+	 */
+	public boolean publish(BoardSnapshot expected, BoardSnapshot next)
+	{
+		return current.compareAndSet(expected, next);
+	}
+	
+	/**
+	 * Derive the next version from the current one and publish it, retrying if
+	 * another writer publishes first. The change may be applied more than once,
+	 * so it must not have side effects.
+	 * @param change derives the next version from the current one
+	 * @return the version published
+	 */
+	public BoardSnapshot update(UnaryOperator<BoardSnapshot> change)
+	{
+		while (true) {
+			BoardSnapshot expected = current.get();
+			BoardSnapshot next = change.apply(expected);
+			if (current.compareAndSet(expected, next)) {
+				return next;
+			}
+		}
+	}
+}
@@ -0,0 +1,515 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import java.util.*;
+import gpv.*;
+
+/**
+ * A board for very large or unbounded boards with few pieces. Nothing is kept
+ * per square: the board keeps, for every row, column, diagonal and
+ * anti-diagonal that has a piece on it, the sorted positions of its pieces.
+ * Memory therefore grows with the number of pieces, not with the area of the
+ * board, and the next occupied square along any ray is found by a binary
+ * search of one line, so a long slide costs no more than a short one.
+ * <br/>
+ * The dimensions only limit where pieces may move; any square with rows and
+ * columns that fit in an int can hold a piece. Square indices exist only for
+ * squares whose index fits in an int. As with a snapshot, only occupied
+ * squares have moved flags, so setHasMoved on an empty square does nothing.
+ * Reachability caching is not supported.
+ * @version Oct 18, 2026
+ */
+public class SparseBoard extends Board
+{
+	private final Lines rows = new Lines();	// by row, positions are columns
+	private final Lines columns = new Lines();	// by column, positions are rows
+	private final Lines diagonals = new Lines();	// by row - column, positions are rows
+	private final Lines antiDiagonals = new Lines();	// by row + column, positions are rows
+	private int pieceCount;
+	private long hash;
+	
+	/**
+	 * Constructor for an empty board.
+	 * @param maxRows the largest row a piece may move to
+	 * @param maxColumns the largest column a piece may move to
+	 */
+	public SparseBoard(int maxRows, int maxColumns)
+	{
+		super(maxRows, maxColumns, false);
+	}
+	
+	/**
+	 * Constructor that also initializes the board.
+	 * @param maxRows the largest row a piece may move to
+	 * @param maxColumns the largest column a piece may move to
+	 * @param initializers
+	 */
+	public SparseBoard(int maxRows, int maxColumns, List<SquareInitializer> initializers)
+	{
+		this(maxRows, maxColumns);
+		reset(initializers);
+	}
+	
+	/**
+	 * @return the number of pieces on the board
+	 */
+	public int getPieceCount()
+	{
+		return pieceCount;
+	}
+	
+	/**
+	 * Find the first occupied square along a ray.
+	 * @param row the row the ray starts from, which is not itself looked at
+	 * @param column the column the ray starts from
+	 * @param rowStep -1, 0 or 1
+	 * @param columnStep -1, 0 or 1, not 0 if rowStep is
+	 * @return the first occupied square, or null if there is none
+	 */
+	public Coordinate nextOccupied(int row, int column, int rowStep, int columnStep)
+	{
+		Line line = lineOf(row, column, rowStep, columnStep);
+		int along = columnStep != 0 && rowStep == 0 ? column : row;
+		int step = rowStep != 0 ? rowStep : columnStep;
+		int ix = line == null ? -1 : line.next(along, step);
+		if (ix < 0) {
+			return null;
+		}
+		int position = line.positions[ix];
+		if (rowStep == 0) {
+			return Coordinate.makeCoordinate(row, position);
+		}
+		return Coordinate.makeCoordinate(position, column + (position - row) * rowStep * columnStep);
+	}
+	
+	/**
+	 * Visits the rows that hold pieces, so it costs in proportion to the pieces.
+	 * @see gpv.util.Board#getLocations(gpv.PieceDescriptor)
+	 */
+	@Override
+	public List<Coordinate> getLocations(PieceDescriptor d)
+	{
+		List<Coordinate> result = new ArrayList<Coordinate>();
+		for (int slot = 0; slot < rows.values.length; slot++) {
+			Line line = rows.values[slot];
+			for (int i = 0; line != null && i < line.size; i++) {
+				if (line.pieces[i].getDescriptor().equals(d)) {
+					result.add(Coordinate.makeCoordinate(rows.keys[slot], line.positions[i]));
+				}
+			}
+		}
+		return result;
+	}
+	
+	/*
+	 * @see gpv.util.Board#isPathClear(int, int, int, int)
+	 */
+	@Override
+	public boolean isPathClear(int fromRow, int fromColumn, int toRow, int toColumn)
+	{
+		int rowDiff = toRow - fromRow;
+		int columnDiff = toColumn - fromColumn;
+		if ((rowDiff == 0 && columnDiff == 0) || (rowDiff != 0 && columnDiff != 0 
+				&& Math.abs(rowDiff) != Math.abs(columnDiff))) {
+			return false;
+		}
+		int rowStep = Integer.signum(rowDiff);
+		int columnStep = Integer.signum(columnDiff);
+		Line line = lineOf(fromRow, fromColumn, rowStep, columnStep);
+		if (line == null) {
+			return true;
+		}
+		int step = rowStep != 0 ? rowStep : columnStep;
+		int from = rowStep != 0 ? fromRow : fromColumn;
+		int to = rowStep != 0 ? toRow : toColumn;
+		int ix = line.next(from, step);
+		return ix < 0 || (line.positions[ix] - to) * step >= 0;
+	}
+	
+	/*
+	 * @see gpv.util.Board#getPieceAt(int, int)
+	 */
+	@Override
+	public Piece getPieceAt(int row, int column)
+	{
+		Line line = rows.get(row);
+		int ix = line == null ? -1 : line.indexOf(column);
+		return ix < 0 ? null : line.pieces[ix];
+	}
+	
+	/*
+	 * @see gpv.util.Board#hasMoved(int, int)
+	 */
+	@Override
+	public boolean hasMoved(int row, int column)
+	{
+		Line line = rows.get(row);
+		int ix = line == null ? -1 : line.indexOf(column);
+		return ix >= 0 && line.moved[ix];
+	}
+	
+	/*
+	 * @see gpv.util.Board#putPieceAt(gpv.Piece, gpv.util.Coordinate)
+	 */
+	@Override
+	public Piece putPieceAt(Piece p, Coordinate c)
+	{
+		int row = c.getRow();
+		int column = c.getColumn();
+		Line line = rows.get(row);
+		int ix = line == null ? -1 : line.indexOf(column);
+		Piece previous = null;
+		if (ix >= 0) {
+			previous = line.pieces[ix];
+			hash ^= Zobrist.pieceKey(row, column, previous.getDescriptor());
+			if (line.moved[ix]) {
+				hash ^= Zobrist.movedKey(row, column);
+			}
+			if (p == null) {
+				removeLines(row, column);
+				pieceCount--;
+			} else {
+				line.pieces[ix] = p;
+				line.moved[ix] = false;
+			}
+		} else if (p != null) {
+			rows.getOrCreate(row, true).insert(column, p);
+			columns.getOrCreate(column, false).insert(row, null);
+			diagonals.getOrCreate(row - column, false).insert(row, null);
+			antiDiagonals.getOrCreate(row + column, false).insert(row, null);
+			pieceCount++;
+		}
+		if (p != null) {
+			hash ^= Zobrist.pieceKey(row, column, p.getDescriptor());
+		}
+		return previous;
+	}
+	
+	/*
+	 * @see gpv.util.Board#setHasMoved(gpv.util.Coordinate)
+	 */
+	@Override
+	public void setHasMoved(Coordinate c)
+	{
+		Line line = rows.get(c.getRow());
+		int ix = line == null ? -1 : line.indexOf(c.getColumn());
+		if (ix >= 0 && !line.moved[ix]) {
+			line.moved[ix] = true;
+			hash ^= Zobrist.movedKey(c.getRow(), c.getColumn());
+		}
+	}
+	
+	/*
+	 * @see gpv.util.Board#positionHash()
+	 */
+	@Override
+	public long positionHash()
+	{
+		return hash;
+	}
+	
+	/*
+	 * @see gpv.util.Board#reset(java.util.List)
+	 */
+	@Override
+	public void reset(List<SquareInitializer> initializers)
+	{
+		rows.clear();
+		columns.clear();
+		diagonals.clear();
+		antiDiagonals.clear();
+		pieceCount = 0;
+		hash = 0L;
+		clearUndo();
+		for (SquareInitializer si : initializers) {
+			putPieceAt(si.getPiece(), si.getSquare());
+		}
+	}
+	
+	/**
+	 * Only the limit on where pieces may move changes; no storage depends on it.
+	 * @see gpv.util.Board#setnRows(int)
+	 */
+	@Override
+	public void setnRows(int nRows)
+	{
+		this.nRows = nRows;
+	}
+	
+	/*
+	 * @see gpv.util.Board#squareIndex(int, int)
+	 */
+	@Override
+	public int squareIndex(int row, int column)
+	{
+		if (row < 0 || row > nRows || column < 0 || column > nColumns) {
+			return -1;
+		}
+		long ix = (long) row * ((long) nColumns + 1) + column;
+		return ix > Integer.MAX_VALUE ? -1 : (int) ix;
+	}
+	
+	/*
+	 * @see gpv.util.Board#squareCount()
+	 */
+	@Override
+	public int squareCount()
+	{
+		return (int) Math.min(((long) nRows + 1) * ((long) nColumns + 1), Integer.MAX_VALUE);
+	}
+	
+	/*
+	 * @see gpv.util.Board#rowOf(int)
+	 */
+	@Override
+	public int rowOf(int index)
+	{
+		return (int) (index / ((long) nColumns + 1));
+	}
+	
+	/*
+	 * @see gpv.util.Board#columnOf(int)
+	 */
+	@Override
+	public int columnOf(int index)
+	{
+		return (int) (index % ((long) nColumns + 1));
+	}
+	
+	/**
+	 * Reachability caching cannot be turned on for a sparse board.
+	 * @see gpv.util.Board#setReachabilityCaching(boolean)
+	 */
+	@Override
+	public void setReachabilityCaching(boolean caching)
+	{
+		if (caching) {
+			throw new UnsupportedOperationException("A sparse board cannot cache reachability");
+		}
+	}
+	
+	/**
+	 * @param row
+	 * @param column
+	 * @param rowStep
+	 * @param columnStep
+	 * @return the line through the square in the direction, or null if it is empty
+	 */
+	private Line lineOf(int row, int column, int rowStep, int columnStep)
+	{
+		if (rowStep == 0) {
+			return rows.get(row);
+		}
+		if (columnStep == 0) {
+			return columns.get(column);
+		}
+		return rowStep == columnStep ? diagonals.get(row - column) : antiDiagonals.get(row + column);
+	}
+	
+	/**
+	 * Take a square out of each of its lines, dropping lines that become empty.
+	 * @param row
+	 * @param column
+	 */
+	private void removeLines(int row, int column)
+	{
+		rows.remove(row, column);
+		columns.remove(column, row);
+		diagonals.remove(row - column, row);
+		antiDiagonals.remove(row + column, row);
+	}
+	
+	/**
+	 * The sorted positions of the pieces on one line and, for rows, the pieces
+	 * themselves and their moved flags.
+	 */
+	private static final class Line
+	{
+		int size;
+		int[] positions = new int[4];
+		Piece[] pieces;
+		boolean[] moved;
+		
+		Line(boolean withPieces)
+		{
+			if (withPieces) {
+				pieces = new Piece[4];
+				moved = new boolean[4];
+			}
+		}
+		
+		/**
+		 * @param position
+		 * @return the index of the position, or -1 if it is not occupied
+		 */
+		int indexOf(int position)
+		{
+			int ix = Arrays.binarySearch(positions, 0, size, position);
+			return ix < 0 ? -1 : ix;
+		}
+		
+		/**
+		 * @param position where to start, which is not itself looked at
+		 * @param step 1 to look at larger positions, -1 for smaller ones
+		 * @return the index of the nearest occupied position in that direction,
+		 * 	or -1 if there is none
+		 */
+		int next(int position, int step)
+		{
+			int ix = Arrays.binarySearch(positions, 0, size, position);
+			if (ix >= 0) {
+				ix += step;
+			} else {
+				int insertion = -ix - 1;
+				ix = step > 0 ? insertion : insertion - 1;
+			}
+			return ix >= 0 && ix < size ? ix : -1;
+		}
+		
+		void insert(int position, Piece p)
+		{
+			int ix = -Arrays.binarySearch(positions, 0, size, position) - 1;
+			if (size == positions.length) {
+				positions = Arrays.copyOf(positions, size * 2);
+				if (pieces != null) {
+					pieces = Arrays.copyOf(pieces, size * 2);
+					moved = Arrays.copyOf(moved, size * 2);
+				}
+			}
+			System.arraycopy(positions, ix, positions, ix + 1, size - ix);
+			positions[ix] = position;
+			if (pieces != null) {
+				System.arraycopy(pieces, ix, pieces, ix + 1, size - ix);
+				System.arraycopy(moved, ix, moved, ix + 1, size - ix);
+				pieces[ix] = p;
+				moved[ix] = false;
+			}
+			size++;
+		}
+		
+		void delete(int ix)
+		{
+			size--;
+			System.arraycopy(positions, ix + 1, positions, ix, size - ix);
+			if (pieces != null) {
+				System.arraycopy(pieces, ix + 1, pieces, ix, size - ix);
+				System.arraycopy(moved, ix + 1, moved, ix, size - ix);
+				pieces[size] = null;
+			}
+		}
+	}
+	
+	/**
+	 * An open addressing map from line numbers to non-empty lines, so that
+	 * looking up a line neither boxes its number nor allocates.
+	 */
+	private static final class Lines
+	{
+		private int[] keys = new int[16];
+		private Line[] values = new Line[16];
+		private int size;
+		
+		Line get(int key)
+		{
+			int mask = keys.length - 1;
+			for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+				if (keys[slot] == key) {
+					return values[slot];
+				}
+			}
+			return null;
+		}
+		
+		Line getOrCreate(int key, boolean withPieces)
+		{
+			Line line = get(key);
+			if (line == null) {
+				if ((size + 1) * 2 > keys.length) {
+					grow();
+				}
+				line = new Line(withPieces);
+				put(key, line);
+				size++;
+			}
+			return line;
+		}
+		
+		/**
+		 * Take a position out of a line, dropping the line if it becomes empty.
+		 * @param key the line
+		 * @param position the position, which must be on the line
+		 */
+		void remove(int key, int position)
+		{
+			int mask = keys.length - 1;
+			int slot = hash(key) & mask;
+			while (keys[slot] != key || values[slot] == null) {
+				slot = (slot + 1) & mask;
+			}
+			Line line = values[slot];
+			line.delete(line.indexOf(position));
+			if (line.size > 0) {
+				return;
+			}
+			// Shift later entries of the probe sequence back into the hole
+			values[slot] = null;
+			size--;
+			for (int next = (slot + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+				int home = hash(keys[next]) & mask;
+				if (((next - home) & mask) >= ((next - slot) & mask)) {
+					keys[slot] = keys[next];
+					values[slot] = values[next];
+					values[next] = null;
+					slot = next;
+				}
+			}
+		}
+		
+		void clear()
+		{
+			Arrays.fill(values, null);
+			size = 0;
+		}
+		
+		private void put(int key, Line line)
+		{
+			int mask = keys.length - 1;
+			int slot = hash(key) & mask;
+			while (values[slot] != null) {
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = key;
+			values[slot] = line;
+		}
+		
+		private void grow()
+		{
+			int[] oldKeys = keys;
+			Line[] oldValues = values;
+			keys = new int[oldKeys.length * 2];
+			values = new Line[oldValues.length * 2];
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldValues[i] != null) {
+					put(oldKeys[i], oldValues[i]);
+				}
+			}
+		}
+		
+		private static int hash(int key)
+		{
+			int h = key * 0x9E3779B9;
+			return h ^ (h >>> 16);
+		}
+	}
+}
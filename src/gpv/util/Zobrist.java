@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import gpv.PieceDescriptor;
+
+/**
+ * Zobrist keys for positions on a Board. A position's hash is the XOR of the
+ * keys of its (square, piece descriptor) pairs, plus one key for every square
+ * whose piece has moved, so it can be updated in constant time whenever one
+ * square changes.
+ * <br/>
+ * Boards can be of any size and descriptors of any type, so rather than
+ * filling tables the keys are computed by a 64-bit mixing function from the
+ * row, column and descriptor. Equal inputs always give equal keys, on every
+ * run, and different inputs give keys that behave like random numbers.
+ * The mixing function and the packing of a square into a long are public
+ * so that other hashes of squares, such as MoveValidationCache's keys, are
+ * built the same way.
+ * @version Oct 18, 2026
+ */
+public final class Zobrist
+{
+	private static final long MOVED_SEED = 0x6A09E667F3BCC909L;
+	
+	/**
+	 * Not instantiable.
+	 */
+	private Zobrist()
+	{
+		// Nothing to do
+	}
+	
+	/**
+	 * @param row
+	 * @param column
+	 * @param d the descriptor of the piece on the square
+	 * @return the key of the piece on the square
+	 */
+	static long pieceKey(int row, int column, PieceDescriptor d)
+	{
+		return mix(mix(descriptorSeed(d)) ^ square(row, column));
+	}
+	
+	/**
+	 * @param row
+	 * @param column
+	 * @return the key for the piece on the square having moved
+	 */
+	static long movedKey(int row, int column)
+	{
+		return mix(MOVED_SEED ^ square(row, column));
+	}
+	
+	/**
+	 * @param row
+	 * @param column
+	 * @return the full row and column in one long, so that no two squares
+	 * 	of any board share a value
+	 */
+	public static long square(int row, int column)
+	{
+		return (long) row << 32 | (column & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Enum descriptors are identified by their class name and ordinal, which,
+	 * unlike their hashCode(), are the same on every run.
+	 * @param d a piece descriptor
+	 * @return a number identifying the descriptor
+	 */
+	private static long descriptorSeed(PieceDescriptor d)
+	{
+		if (d instanceof Enum) {
+			Enum<?> e = (Enum<?>) d;
+			return ((long) e.getDeclaringClass().getName().hashCode() << 32) ^ e.ordinal();
+		}
+		return d.hashCode();
+	}
+	
+	/**
+	 * The SplitMix64 finalizer.
+	 * @param z the value to mix
+	 * @return the mixed value
+	 */
+	public static long mix(long z)
+	{
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
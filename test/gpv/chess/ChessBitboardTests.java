@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.chess.PlayerColor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+import java.util.Random;
+import org.junit.jupiter.api.*;
+import gpv.util.Coordinate;
+
+/**
+ * Tests for the bitboard representation of a chess board.
+ * @version Oct 18, 2026
+ */
+class ChessBitboardTests
+{
+	private static ChessPieceFactory factory = null;
+	private ChessBitboard board;
+	
+	@BeforeAll
+	public static void setupBeforeTests()
+	{
+		factory = new ChessPieceFactory();
+	}
+	
+	@BeforeEach
+	public void setupTest()
+	{
+		board = new ChessBitboard();
+	}
+	
+	@Test
+	void squareIndices()
+	{
+		assertEquals(0, ChessBitboard.square(1, 1));
+		assertEquals(7, ChessBitboard.square(1, 8));
+		assertEquals(63, ChessBitboard.square(8, 8));
+		assertEquals(-1, ChessBitboard.square(0, 5));
+		assertEquals(-1, ChessBitboard.square(4, 9));
+	}
+	
+	@Test
+	void masksFollowPlacement()
+	{
+		ChessPiece wr = factory.makePiece(WHITEROOK);
+		ChessPiece bn = factory.makePiece(BLACKKNIGHT);
+		board.putPieceAt(wr, makeCoordinate(1, 1));
+		board.putPieceAt(bn, makeCoordinate(8, 2));
+		assertEquals(1L, board.getPieces(WHITEROOK));
+		assertEquals(1L << 57, board.getPieces(BLACK));
+		assertEquals(1L | 1L << 57, board.getOccupied());
+		assertTrue(board.isSpaceOccupied(makeCoordinate(8, 2)));
+		assertEquals(wr, board.getPieceAt(makeCoordinate(1, 1)));
+	}
+	
+	@Test
+	void masksFollowCaptureAndRemoval()
+	{
+		ChessPiece wr = factory.makePiece(WHITEROOK);
+		ChessPiece bn = factory.makePiece(BLACKKNIGHT);
+		board.putPieceAt(bn, makeCoordinate(4, 4));
+		board.putPieceAt(wr, makeCoordinate(4, 4));
+		assertEquals(0L, board.getPieces(BLACKKNIGHT));
+		assertEquals(1L << 27, board.getPieces(WHITE));
+		board.putPieceAt(null, makeCoordinate(4, 4));
+		assertEquals(0L, board.getOccupied());
+		assertFalse(board.isSpaceOccupied(makeCoordinate(4, 4)));
+	}
+	
+	@Test
+	void cannotCaptureOwnPiece()
+	{
+		ChessPiece wr = factory.makePiece(WHITEROOK);
+		ChessPiece wp = factory.makePiece(WHITEPAWN);
+		ChessPiece bp = factory.makePiece(BLACKPAWN);
+		board.putPieceAt(wr, makeCoordinate(4, 4));
+		board.putPieceAt(wp, makeCoordinate(4, 6));
+		board.putPieceAt(bp, makeCoordinate(6, 4));
+		assertFalse(wr.canMove(makeCoordinate(4, 4), makeCoordinate(4, 6), board));
+		assertTrue(wr.canMove(makeCoordinate(4, 4), makeCoordinate(6, 4), board));
+	}
+	
+	@Test
+	void slidersStopAtFirstBlocker()
+	{
+		ChessPiece wq = factory.makePiece(WHITEQUEEN);
+		ChessPiece bp = factory.makePiece(BLACKPAWN);
+		board.putPieceAt(wq, makeCoordinate(4, 4));
+		board.putPieceAt(bp, makeCoordinate(6, 6));
+		board.putPieceAt(bp, makeCoordinate(4, 2));
+		assertTrue(wq.canMove(makeCoordinate(4, 4), makeCoordinate(6, 6), board));
+		assertFalse(wq.canMove(makeCoordinate(4, 4), makeCoordinate(7, 7), board));
+		assertTrue(wq.canMove(makeCoordinate(4, 4), makeCoordinate(4, 2), board));
+		assertFalse(wq.canMove(makeCoordinate(4, 4), makeCoordinate(4, 1), board));
+		assertTrue(wq.canMove(makeCoordinate(4, 4), makeCoordinate(8, 4), board));
+		assertFalse(wq.canMove(makeCoordinate(4, 4), makeCoordinate(6, 5), board));
+	}
+	
+	@Test
+	void rookAndBishopFromCorner()
+	{
+		ChessPiece br = factory.makePiece(BLACKROOK);
+		ChessPiece bb = factory.makePiece(BLACKBISHOP);
+		board.putPieceAt(br, makeCoordinate(8, 8));
+		board.putPieceAt(bb, makeCoordinate(1, 1));
+		assertTrue(br.canMove(makeCoordinate(8, 8), makeCoordinate(8, 1), board));
+		assertTrue(br.canMove(makeCoordinate(8, 8), makeCoordinate(1, 8), board));
+		assertTrue(bb.canMove(makeCoordinate(1, 1), makeCoordinate(7, 7), board));
+		assertFalse(bb.canMove(makeCoordinate(1, 1), makeCoordinate(8, 8), board));
+	}
+	
+	@Test
+	void generateMoveMaskForKnight()
+	{
+		ChessPiece wn = factory.makePiece(WHITEKNIGHT);
+		ChessPiece wp = factory.makePiece(WHITEPAWN);
+		board.putPieceAt(wn, makeCoordinate(1, 2));
+		board.putPieceAt(wp, makeCoordinate(2, 4));
+		long expected = 1L << ChessBitboard.square(3, 1) | 1L << ChessBitboard.square(3, 3);
+		assertEquals(expected, wn.generateMoveMask(makeCoordinate(1, 2), board));
+		assertEquals(2, wn.generateMoves(makeCoordinate(1, 2), board).length);
+	}
+	
+	@Test
+	void attackMapsFollowSliders()
+	{
+		ChessPiece wr = factory.makePiece(WHITEROOK);
+		ChessPiece bp = factory.makePiece(BLACKPAWN);
+		board.putPieceAt(wr, makeCoordinate(1, 1));
+		assertTrue(board.isSquareAttacked(makeCoordinate(8, 1), WHITE));
+		board.putPieceAt(bp, makeCoordinate(5, 1));
+		assertTrue(board.isSquareAttacked(makeCoordinate(5, 1), WHITE));
+		assertFalse(board.isSquareAttacked(makeCoordinate(6, 1), WHITE));
+		assertTrue(board.isSquareAttacked(makeCoordinate(4, 2), BLACK));
+		board.putPieceAt(null, makeCoordinate(5, 1));
+		assertTrue(board.isSquareAttacked(makeCoordinate(8, 1), WHITE));
+		assertEquals(0L, board.getAttacks(BLACK));
+	}
+	
+	@Test
+	void checkFollowsBlockers()
+	{
+		ChessPiece wk = factory.makePiece(WHITEKING);
+		ChessPiece bb = factory.makePiece(BLACKBISHOP);
+		ChessPiece wn = factory.makePiece(WHITEKNIGHT);
+		board.putPieceAt(wk, makeCoordinate(1, 5));
+		board.putPieceAt(bb, makeCoordinate(4, 2));
+		assertTrue(board.isInCheck(WHITE));
+		assertFalse(board.isInCheck(BLACK));
+		board.putPieceAt(wn, makeCoordinate(2, 4));
+		assertFalse(board.isInCheck(WHITE));
+		board.applyMove(makeCoordinate(2, 4), makeCoordinate(4, 5));
+		assertTrue(board.isInCheck(WHITE));
+		board.undoMove();
+		assertFalse(board.isInCheck(WHITE));
+	}
+	
+	@Test
+	void attackMapsMatchRecomputation()
+	{
+		Random random = new Random(24);
+		ChessPieceDescriptor[] descriptors = ChessPieceDescriptor.values();
+		for (int step = 0; step < 5000; step++) {
+			Coordinate c = makeCoordinate(random.nextInt(8) + 1, random.nextInt(8) + 1);
+			ChessPiece p = random.nextInt(3) == 0 ? null
+				: factory.makePiece(descriptors[random.nextInt(descriptors.length)]);
+			board.putPieceAt(p, c);
+			for (PlayerColor color : PlayerColor.values()) {
+				assertEquals(recomputeAttacks(color), board.getAttacks(color));
+			}
+		}
+	}
+	
+	@Test
+	void embeddedMagicsMatchARayWalk()
+	{
+		Random random = new Random(3);
+		for (int sq = 0; sq < 64; sq++) {
+			for (int i = 0; i < 200; i++) {
+				long occupied = random.nextLong() & random.nextLong();
+				assertEquals(walk(sq, occupied, SlidingAttacks.ROOK_DIRECTIONS),
+						SlidingAttacks.rookAttacks(sq, occupied));
+				assertEquals(walk(sq, occupied, SlidingAttacks.BISHOP_DIRECTIONS),
+						SlidingAttacks.bishopAttacks(sq, occupied));
+			}
+		}
+	}
+	
+	/**
+	 * Walk the rays from a square, stopping at the first occupied square.
+	 */
+	private static long walk(int sq, long occupied, int[][] directions)
+	{
+		long result = 0L;
+		for (int[] d : directions) {
+			for (int r = sq / 8 + d[0], c = sq % 8 + d[1]; r >= 0 && r < 8 && c >= 0 && c < 8;
+					r += d[0], c += d[1]) {
+				result |= 1L << (r * 8 + c);
+				if ((occupied & (1L << (r * 8 + c))) != 0) {
+					break;
+				}
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Compute a color's attack map from scratch by asking every piece of
+	 * that color which squares it attacks.
+	 */
+	private long recomputeAttacks(PlayerColor color)
+	{
+		long occupied = board.getOccupied();
+		long result = 0L;
+		for (long own = board.getPieces(color); own != 0; own &= own - 1) {
+			int sq = Long.numberOfTrailingZeros(own);
+			ChessPiece p = (ChessPiece) board.getPieceAt(makeCoordinate(sq / 8 + 1, sq % 8 + 1));
+			switch (p.getName()) {
+				case PAWN:
+					result |= LeaperAttacks.pawnAttacks(color, sq);
+					break;
+				case KNIGHT:
+					result |= LeaperAttacks.knightAttacks(sq);
+					break;
+				case KING:
+					result |= LeaperAttacks.kingAttacks(sq);
+					break;
+				case BISHOP:
+					result |= SlidingAttacks.bishopAttacks(sq, occupied);
+					break;
+				case ROOK:
+					result |= SlidingAttacks.rookAttacks(sq, occupied);
+					break;
+				default:
+					result |= SlidingAttacks.queenAttacks(sq, occupied);
+			}
+		}
+		return result;
+	}
+}
@@ -18,7 +18,9 @@ import static gpv.util.Coordinate.makeCoordinate;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
-import gpv.util.Board;
+import java.util.Arrays;
+import gpv.Piece;
+import gpv.util.*;
 
 /**
  * Tests to ensure that pieces are created correctly and that all pieces
@@ -67,6 +69,23 @@ class ChessPieceTests
 		assertEquals(d.getName(), p.getName());
 	}
 
+	@ParameterizedTest
+	@EnumSource(ChessPieceDescriptor.class)
+	void factorySharesPieces(ChessPieceDescriptor d)
+	{
+		assertSame(factory.makePiece(d), factory.makePiece(d));
+	}
+	
+	@Test
+	void placingPieceClearsHasMoved()
+	{
+		ChessPiece bq = factory.makePiece(BLACKQUEEN);
+		board.putPieceAt(bq, makeCoordinate(8, 4));
+		board.setHasMoved(makeCoordinate(8, 4));
+		board.putPieceAt(bq, makeCoordinate(8, 4));
+		assertFalse(board.hasMoved(makeCoordinate(8, 4)));
+	}
+
 	@Test
 	void placeOnePiece()
 	{
@@ -90,9 +109,10 @@ class ChessPieceTests
 	void checkForPieceHasMoved()
 	{
 		ChessPiece bq = factory.makePiece(BLACKQUEEN);
-		assertFalse(bq.hasMoved());
-		bq.setHasMoved();
-		assertTrue(bq.hasMoved());
+		board.putPieceAt(bq, makeCoordinate(8, 4));
+		assertFalse(board.hasMoved(makeCoordinate(8, 4)));
+		board.setHasMoved(makeCoordinate(8, 4));
+		assertTrue(board.hasMoved(makeCoordinate(8, 4)));
 	}
 	
 	@Test
@@ -156,7 +176,7 @@ class ChessPieceTests
 	{
 		ChessPiece wk = factory.makePiece(WHITEKING);
 		board.putPieceAt(wk, makeCoordinate(2,5));
-		assertTrue(wk.canMove(makeCoordinate(2,5), makeCoordinate(4, 6), board));
+		assertFalse(wk.canMove(makeCoordinate(2,5), makeCoordinate(4, 6), board));
 	}
 	
 	@Test
@@ -179,8 +199,8 @@ class ChessPieceTests
 	void PawnTryMoveTwoSpacesWhenAlreadyMoved()
 	{
 		ChessPiece wp = factory.makePiece(WHITEPAWN);
-		wp.setHasMoved();
 		board.putPieceAt(wp, makeCoordinate(2,5));
+		board.setHasMoved(makeCoordinate(2,5));
 		assertFalse(wp.canMove(makeCoordinate(2,5), makeCoordinate(4, 5), board));
 	}
 	
@@ -204,6 +224,27 @@ class ChessPieceTests
 		assertTrue(wp.canMove(makeCoordinate(2,5), makeCoordinate(3, 6), board));
 	}
 	
+	@Test
+	void PawnCannotMoveForwardOntoPiece() 
+	{
+		ChessPiece wp = factory.makePiece(WHITEPAWN);
+		ChessPiece bp = factory.makePiece(BLACKPAWN);
+		board.putPieceAt(wp, makeCoordinate(2,5));
+		board.putPieceAt(bp, makeCoordinate(3,5));
+		assertFalse(wp.canMove(makeCoordinate(2,5), makeCoordinate(3, 5), board));
+		assertFalse(wp.canMove(makeCoordinate(2,5), makeCoordinate(4, 5), board));
+	}
+	
+	@Test
+	void BlackPawnMovesDown() 
+	{
+		ChessPiece bp = factory.makePiece(BLACKPAWN);
+		board.putPieceAt(bp, makeCoordinate(7,3));
+		assertTrue(bp.canMove(makeCoordinate(7,3), makeCoordinate(5, 3), board));
+		assertFalse(bp.canMove(makeCoordinate(7,3), makeCoordinate(8, 3), board));
+		assertFalse(bp.canMove(makeCoordinate(7,3), makeCoordinate(6, 4), board));
+	}
+	
 	@Test
 	void RookMoveUp() 
 	{
@@ -380,5 +421,119 @@ class ChessPieceTests
 		assertTrue(wk.canMove(makeCoordinate(4,4), makeCoordinate(2, 5), board));
 	}
 	
+	@Test
+	void KnightCannotMoveStraight() 
+	{
+		ChessPiece wk = factory.makePiece(WHITEKNIGHT);
+		board.putPieceAt(wk, makeCoordinate(4,4));
+		assertFalse(wk.canMove(makeCoordinate(4,4), makeCoordinate(6, 4), board));
+		assertFalse(wk.canMove(makeCoordinate(4,4), makeCoordinate(6, 6), board));
+	}
+	
+	@ParameterizedTest
+	@EnumSource(ChessPieceDescriptor.class)
+	void GenerateMovesMatchesCanMove(ChessPieceDescriptor d)
+	{
+		ChessPiece p = factory.makePiece(d);
+		board.putPieceAt(p, makeCoordinate(4,4));
+		board.putPieceAt(factory.makePiece(WHITEPAWN), makeCoordinate(5,5));
+		board.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(4,6));
+		int[] moves = p.generateMoves(makeCoordinate(4,4), board);
+		int expected = 0;
+		for (int row = 1; row <= 8; row++) {
+			for (int column = 1; column <= 8; column++) {
+				if (p.canMove(makeCoordinate(4,4), makeCoordinate(row, column), board)) {
+					expected++;
+					int ix = board.squareIndex(row, column);
+					assertTrue(Arrays.stream(moves).anyMatch(m -> m == ix));
+				}
+			}
+		}
+		assertEquals(expected, moves.length);
+	}
 	
+	@ParameterizedTest
+	@EnumSource(ChessPieceDescriptor.class)
+	void DefaultGenerateMovesMatchesTheOverride(ChessPieceDescriptor d)
+	{
+		ChessPiece p = factory.makePiece(d);
+		Piece<ChessPieceDescriptor> plain = new Piece<ChessPieceDescriptor>() {
+			@Override
+			public ChessPieceDescriptor getDescriptor()
+			{
+				return p.getDescriptor();
+			}
+			
+			@Override
+			public boolean canMove(Coordinate from, Coordinate to, Board b)
+			{
+				return p.canMove(from, to, b);
+			}
+		};
+		board.putPieceAt(p, makeCoordinate(4,4));
+		board.putPieceAt(factory.makePiece(WHITEPAWN), makeCoordinate(5,5));
+		board.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(4,6));
+		int[] expected = p.generateMoves(makeCoordinate(4,4), board);
+		int[] actual = plain.generateMoves(makeCoordinate(4,4), board);
+		Arrays.sort(expected);
+		assertArrayEquals(expected, actual);
+		assertEquals(0, plain.generateMoves(makeCoordinate(40,4), board).length);
+	}
+	
+	@Test
+	void ReachabilityCachingMatchesCanMove()
+	{
+		board.putPieceAt(factory.makePiece(WHITEQUEEN), makeCoordinate(4,4));
+		board.putPieceAt(factory.makePiece(WHITEKNIGHT), makeCoordinate(2,3));
+		board.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(7,4));
+		boolean[] expected = new boolean[8 * 8 * 8 * 8];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = canMove(i);
+		}
+		board.setReachabilityCaching(true);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], canMove(i));
+		}
+	}
+	
+	@Test
+	void ReachabilityIsRecomputedAfterChange()
+	{
+		ChessPiece wr = factory.makePiece(WHITEROOK);
+		board.setReachabilityCaching(true);
+		board.putPieceAt(wr, makeCoordinate(4,4));
+		assertTrue(wr.canMove(makeCoordinate(4,4), makeCoordinate(8, 4), board));
+		board.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(6,4));
+		assertFalse(wr.canMove(makeCoordinate(4,4), makeCoordinate(8, 4), board));
+		assertTrue(wr.canMove(makeCoordinate(4,4), makeCoordinate(6, 4), board));
+	}
+	
+	@ParameterizedTest
+	@EnumSource(ChessPieceDescriptor.class)
+	void CanMoveBySquareIndexMatchesCanMove(ChessPieceDescriptor d)
+	{
+		ChessPiece p = factory.makePiece(d);
+		board.putPieceAt(p, makeCoordinate(4,4));
+		board.putPieceAt(factory.makePiece(WHITEPAWN), makeCoordinate(5,5));
+		board.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(4,6));
+		int from = board.squareIndex(4, 4);
+		for (int to = 0; to < board.squareCount(); to++) {
+			Coordinate c = makeCoordinate(board.rowOf(to), board.columnOf(to));
+			assertEquals(p.canMove(makeCoordinate(4,4), c, board), p.canMove(from, to, board));
+		}
+		assertFalse(p.canMove(from, -1, board));
+		assertFalse(p.canMove(from, board.squareCount(), board));
+	}
+	
+	/**
+	 * @param i a from and to square, 6 bits each, numbered from 0 to 63
+	 * @return canMove for the piece on from, or false if there is none
+	 */
+	private boolean canMove(int i)
+	{
+		Coordinate from = makeCoordinate(i / 512 + 1, i / 64 % 8 + 1);
+		Coordinate to = makeCoordinate(i / 8 % 8 + 1, i % 8 + 1);
+		ChessPiece p = (ChessPiece) board.getPieceAt(from);
+		return p != null && p.canMove(from, to, board);
+	}
 }
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+
+package gpv.chess;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.chess.PlayerColor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import gpv.util.*;
+
+/**
+ * Tests for the pin and check-evasion masks of LegalMoves.
+ * @version Oct 18, 2026
+ */
+class LegalMovesTests
+{
+	private static ChessPieceFactory factory = null;
+	private ChessBitboard board;
+	private LegalMoves legal;
+	
+	@BeforeAll
+	public static void setupBeforeTests()
+	{
+		factory = new ChessPieceFactory();
+	}
+	
+	@BeforeEach
+	public void setupTest()
+	{
+		board = new ChessBitboard();
+		legal = new LegalMoves(board);
+	}
+	
+	@Test
+	void pinnedPieceStaysOnItsRay()
+	{
+		place(WHITEKING, 1, 5);
+		place(WHITEROOK, 3, 5);
+		place(BLACKQUEEN, 7, 5);
+		assertEquals(1L << ChessBitboard.square(3, 5), legal.getPinned(WHITE));
+		assertTrue(legal.canMove(makeCoordinate(3, 5), makeCoordinate(6, 5)));
+		assertTrue(legal.canMove(makeCoordinate(3, 5), makeCoordinate(7, 5)));
+		assertFalse(legal.canMove(makeCoordinate(3, 5), makeCoordinate(3, 1)));
+	}
+	
+	@Test
+	void checkMustBeBlockedOrCaptured()
+	{
+		place(WHITEKING, 1, 5);
+		place(WHITEBISHOP, 1, 3);
+		place(WHITEKNIGHT, 5, 2);
+		place(BLACKROOK, 6, 5);
+		assertEquals(1L << ChessBitboard.square(6, 5), legal.getCheckers(WHITE));
+		assertTrue(legal.canMove(makeCoordinate(1, 3), makeCoordinate(3, 5)));
+		assertFalse(legal.canMove(makeCoordinate(1, 3), makeCoordinate(2, 2)));
+		assertFalse(legal.canMove(makeCoordinate(5, 2), makeCoordinate(7, 3)));
+		assertFalse(legal.canMove(makeCoordinate(1, 5), makeCoordinate(2, 5)));
+		assertTrue(legal.canMove(makeCoordinate(1, 5), makeCoordinate(2, 4)));
+	}
+	
+	@Test
+	void doubleCheckLeavesOnlyKingMoves()
+	{
+		place(WHITEKING, 1, 5);
+		place(WHITEQUEEN, 1, 1);
+		place(BLACKROOK, 8, 5);
+		place(BLACKKNIGHT, 3, 4);
+		assertEquals(0L, legal.getEvasionMask(WHITE));
+		assertFalse(legal.canMove(makeCoordinate(1, 1), makeCoordinate(3, 3)));
+		assertTrue(legal.canMove(makeCoordinate(1, 5), makeCoordinate(1, 6)));
+	}
+	
+	@Test
+	void masksFollowTheBoard()
+	{
+		place(WHITEKING, 1, 5);
+		place(WHITEROOK, 3, 5);
+		place(BLACKROOK, 7, 5);
+		assertFalse(legal.canMove(makeCoordinate(3, 5), makeCoordinate(3, 1)));
+		board.applyMove(makeCoordinate(7, 5), makeCoordinate(7, 1));
+		assertTrue(legal.canMove(makeCoordinate(3, 5), makeCoordinate(3, 1)));
+		board.undoMove();
+		assertFalse(legal.canMove(makeCoordinate(3, 5), makeCoordinate(3, 1)));
+	}
+	
+	@Test
+	void agreesWithMakeAndCheck()
+	{
+		Random random = new Random(25);
+		ChessPieceDescriptor[] descriptors = {
+			WHITEPAWN, WHITEKNIGHT, WHITEBISHOP, WHITEROOK, WHITEQUEEN,
+			BLACKPAWN, BLACKKNIGHT, BLACKBISHOP, BLACKROOK, BLACKQUEEN
+		};
+		for (int position = 0; position < 300; position++) {
+			board.reset(new ArrayList<SquareInitializer>());
+			place(WHITEKING, random.nextInt(8) + 1, random.nextInt(8) + 1);
+			place(BLACKKING, random.nextInt(8) + 1, random.nextInt(8) + 1);
+			for (int i = random.nextInt(12); i > 0; i--) {
+				Coordinate c = makeCoordinate(random.nextInt(8) + 1, random.nextInt(8) + 1);
+				if (!board.isSpaceOccupied(c)) {
+					board.putPieceAt(factory.makePiece(descriptors[random.nextInt(descriptors.length)]), c);
+				}
+			}
+			if (Long.bitCount(board.getPieces(WHITEKING)) != 1
+					|| Long.bitCount(board.getPieces(BLACKKING)) != 1) {
+				continue;
+			}
+			for (int from = 0; from < 64; from++) {
+				Coordinate f = makeCoordinate(from / 8 + 1, from % 8 + 1);
+				ChessPiece p = (ChessPiece) board.getPieceAt(f);
+				if (p == null) {
+					continue;
+				}
+				for (int to = 0; to < 64; to++) {
+					Coordinate t = makeCoordinate(to / 8 + 1, to % 8 + 1);
+					boolean expected = false;
+					if (p.canMove(f, t, board)) {
+						board.applyMove(f, t);
+						expected = !board.isInCheck(p.getColor());
+						board.undoMove();
+					}
+					assertEquals(expected, legal.canMove(f, t));
+				}
+			}
+		}
+	}
+	
+	private void place(ChessPieceDescriptor d, int row, int column)
+	{
+		board.putPieceAt(factory.makePiece(d), makeCoordinate(row, column));
+	}
+}
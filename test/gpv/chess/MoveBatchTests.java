@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.*;
+import gpv.Piece;
+import gpv.util.*;
+
+/**
+ * Tests for checking batches of moves.
+ * @version Oct 18, 2026
+ */
+class MoveBatchTests
+{
+	private static ChessPieceFactory factory = null;
+	
+	@BeforeAll
+	public static void setupBeforeTests()
+	{
+		factory = new ChessPieceFactory();
+	}
+	
+	@Test
+	void batchAgreesWithCanMoveOnABoard()
+	{
+		checkEveryMove(setUp(new Board(8, 8)), null);
+	}
+	
+	@Test
+	void batchAgreesWithCanMoveOnABitboard()
+	{
+		checkEveryMove(setUp(new ChessBitboard()), null);
+	}
+	
+	@Test
+	void batchAgreesWithCanMoveOnSeveralThreads()
+	{
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			checkEveryMove(setUp(new Board(8, 8)), pool);
+			checkEveryMove(setUp(new ChessBitboard()), pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	void squaresOffTheBoardCannotMove()
+	{
+		Board b = setUp(new Board(8, 8));
+		int rook = b.squareIndex(1, 1);
+		BitSet results = MoveBatch.canMove(new int[] { rook, -1, rook }, 
+				new int[] { b.squareIndex(1, 3), rook, b.squareCount() }, b);
+		assertTrue(results.get(0));
+		assertFalse(results.get(1));
+		assertFalse(results.get(2));
+	}
+	
+	@Test
+	void smallBatchOnALargeBoard()
+	{
+		SparseBoard b = new SparseBoard(20000, 20000);
+		b.putPieceAt(factory.makePiece(WHITEROOK), makeCoordinate(100, 100));
+		b.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(100, 15000));
+		int rook = b.squareIndex(100, 100);
+		BitSet results = MoveBatch.canMove(new int[] { rook, rook },
+				new int[] { b.squareIndex(100, 15000), b.squareIndex(100, 15001) }, b);
+		assertTrue(results.get(0));
+		assertFalse(results.get(1));
+	}
+	
+	/**
+	 * Check every pair of squares in one batch against canMove.
+	 * @param b the board
+	 * @param pool the pool, or null
+	 */
+	private void checkEveryMove(Board b, ForkJoinPool pool)
+	{
+		int count = b.squareCount();
+		int[] from = new int[count * count];
+		int[] to = new int[count * count];
+		for (int i = 0; i < from.length; i++) {
+			from[i] = i / count;
+			to[i] = i % count;
+		}
+		BitSet results = MoveBatch.canMove(from, to, b, pool);
+		for (int i = 0; i < from.length; i++) {
+			Coordinate f = makeCoordinate(b.rowOf(from[i]), b.columnOf(from[i]));
+			Coordinate t = makeCoordinate(b.rowOf(to[i]), b.columnOf(to[i]));
+			Piece p = b.getPieceAt(f);
+			assertEquals(p != null && p.canMove(f, t, b), results.get(i));
+		}
+	}
+	
+	/**
+	 * @param b an empty board
+	 * @return b, with a middlegame position on it
+	 */
+	private Board setUp(Board b)
+	{
+		Object[] position = {
+				WHITEKING, 1, 7, WHITEROOK, 1, 1, WHITEQUEEN, 4, 4, WHITEKNIGHT, 3, 3,
+				WHITEBISHOP, 2, 5, WHITEPAWN, 2, 1, WHITEPAWN, 4, 5, WHITEPAWN, 2, 8,
+				BLACKKING, 8, 5, BLACKROOK, 8, 8, BLACKQUEEN, 6, 2, BLACKKNIGHT, 5, 6,
+				BLACKBISHOP, 7, 3, BLACKPAWN, 7, 1, BLACKPAWN, 5, 5, BLACKPAWN, 6, 7 };
+		for (int i = 0; i < position.length; i += 3) {
+			b.putPieceAt(factory.makePiece((ChessPieceDescriptor) position[i]),
+					makeCoordinate((int) position[i + 1], (int) position[i + 2]));
+		}
+		b.setHasMoved(makeCoordinate(4, 5));
+		return b;
+	}
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+import org.junit.jupiter.api.*;
+import gpv.util.*;
+
+/**
+ * Tests for the canMove result cache.
+ * @version Oct 18, 2026
+ */
+class MoveValidationCacheTests
+{
+	private static ChessPieceFactory factory = null;
+	private Board board;
+	private MoveValidationCache cache;
+	
+	@BeforeAll
+	public static void setupBeforeTests()
+	{
+		factory = new ChessPieceFactory();
+	}
+	
+	@BeforeEach
+	public void setupTest()
+	{
+		board = new Board(8, 8);
+		cache = new MoveValidationCache(64);
+	}
+	
+	@Test
+	void repeatedQuestionIsAHit()
+	{
+		board.putPieceAt(factory.makePiece(WHITEROOK), makeCoordinate(4, 4));
+		assertTrue(cache.canMove(makeCoordinate(4, 4), makeCoordinate(4, 8), board));
+		assertTrue(cache.canMove(makeCoordinate(4, 4), makeCoordinate(4, 8), board));
+		assertFalse(cache.canMove(makeCoordinate(4, 4), makeCoordinate(5, 8), board));
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+	}
+	
+	@Test
+	void changingTheBoardChangesTheAnswer()
+	{
+		board.putPieceAt(factory.makePiece(WHITEROOK), makeCoordinate(4, 4));
+		assertTrue(cache.canMove(makeCoordinate(4, 4), makeCoordinate(4, 8), board));
+		board.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(4, 6));
+		assertFalse(cache.canMove(makeCoordinate(4, 4), makeCoordinate(4, 8), board));
+		board.putPieceAt(null, makeCoordinate(4, 6));
+		assertTrue(cache.canMove(makeCoordinate(4, 4), makeCoordinate(4, 8), board));
+		assertEquals(1, cache.getHits());
+	}
+	
+	@Test
+	void cacheIsBounded()
+	{
+		board.putPieceAt(factory.makePiece(WHITEQUEEN), makeCoordinate(4, 4));
+		for (int row = 1; row <= 8; row++) {
+			for (int column = 1; column <= 8; column++) {
+				boolean expected = board.getPieceAt(makeCoordinate(4, 4))
+						.canMove(makeCoordinate(4, 4), makeCoordinate(row, column), board);
+				assertEquals(expected, cache.canMove(makeCoordinate(4, 4), makeCoordinate(row, column), board));
+			}
+		}
+		assertEquals(64, cache.getCapacity());
+		assertEquals(64, cache.getMisses());
+	}
+	
+	@Test
+	void distantSquaresDoNotShareEntries()
+	{
+		SparseBoard sparse = new SparseBoard(10, 100000);
+		sparse.putPieceAt(factory.makePiece(WHITEROOK), makeCoordinate(1, 1));
+		sparse.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(1, 60000));
+		assertTrue(cache.canMove(makeCoordinate(1, 1), makeCoordinate(1, 50), sparse));
+		assertFalse(cache.canMove(makeCoordinate(1, 1), makeCoordinate(1, 65586), sparse));
+		assertEquals(0, cache.getHits());
+	}
+	
+	@Test
+	void answersOnAConcurrentBoard()
+	{
+		ConcurrentBoard concurrent = new ConcurrentBoard(8, 8);
+		concurrent.putPieceAt(factory.makePiece(WHITEROOK), makeCoordinate(4, 4));
+		assertTrue(cache.canMove(makeCoordinate(4, 4), makeCoordinate(4, 8), concurrent));
+		assertTrue(cache.canMove(makeCoordinate(4, 4), makeCoordinate(4, 8), concurrent));
+		concurrent.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(4, 6));
+		assertFalse(cache.canMove(makeCoordinate(4, 4), makeCoordinate(4, 8), concurrent));
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+	}
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+/**
+ * Perft counts from the starting position. Up to depth 4 neither castling
+ * nor en passant can happen, so the legal counts are the standard ones.
+ * @version Oct 18, 2026
+ */
+class PerftTests
+{
+	@ParameterizedTest
+	@MethodSource("initialPositionProvider")
+	void initialPosition(int depth, long expected)
+	{
+		ChessBitboard b = Perft.initialPosition();
+		assertEquals(expected, new Perft(16).count(b, PlayerColor.WHITE, depth));
+		assertEquals(32, Long.bitCount(b.getOccupied()));
+	}
+	
+	static Stream<Arguments> initialPositionProvider()
+	{
+		return Stream.of(
+				Arguments.of(1, 20L),
+				Arguments.of(2, 400L),
+				Arguments.of(3, 8902L),
+				Arguments.of(4, 197281L)
+		);
+	}
+	
+	/**
+	 * The standard perft(5) is 4,865,609, of which 258 are en passant
+	 * captures, the only moves at this depth that the rules do not have.
+	 */
+	@Test
+	void depthFiveLessEnPassant()
+	{
+		assertEquals(4865609L - 258L,
+				new Perft(20).count(Perft.initialPosition(), PlayerColor.WHITE, 5));
+	}
+	
+	@Test
+	void parallelMatchesSequential()
+	{
+		ForkJoinPool pool = new ForkJoinPool(4);
+		long parallel = new Perft(16).count(Perft.initialPosition(), PlayerColor.WHITE, 4, pool);
+		pool.shutdown();
+		assertEquals(new Perft(1).count(Perft.initialPosition(), PlayerColor.WHITE, 4), parallel);
+	}
+}
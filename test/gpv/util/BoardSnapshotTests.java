@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static gpv.util.SquareInitializer.makeSquareInitializer;
+import static org.junit.Assert.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import gpv.chess.*;
+
+/**
+ * Tests for immutable board snapshots and their publication.
+ * @version Oct 18, 2026
+ */
+class BoardSnapshotTests
+{
+	private static ChessPieceFactory factory = null;
+	
+	@BeforeAll
+	public static void setupBeforeTests()
+	{
+		factory = new ChessPieceFactory();
+	}
+	
+	@Test
+	void derivingLeavesTheOldVersionAlone()
+	{
+		ChessPiece wr = factory.makePiece(WHITEROOK);
+		BoardSnapshot empty = BoardSnapshot.empty(8, 8);
+		BoardSnapshot one = empty.with(wr, makeCoordinate(1, 1));
+		BoardSnapshot two = one.withMove(makeCoordinate(1, 1), makeCoordinate(5, 1));
+		assertNull(empty.getPieceAt(makeCoordinate(1, 1)));
+		assertSame(wr, one.getPieceAt(makeCoordinate(1, 1)));
+		assertFalse(one.hasMoved(makeCoordinate(1, 1)));
+		assertNull(two.getPieceAt(makeCoordinate(1, 1)));
+		assertSame(wr, two.getPieceAt(makeCoordinate(5, 1)));
+		assertTrue(two.hasMoved(makeCoordinate(5, 1)));
+		assertEquals(2, two.version());
+	}
+	
+	@Test
+	void withMoveFromAnEmptySquareThrows()
+	{
+		BoardSnapshot one = BoardSnapshot.empty(8, 8)
+				.with(factory.makePiece(WHITEROOK), makeCoordinate(5, 1));
+		assertThrows(IllegalArgumentException.class,
+				() -> one.withMove(makeCoordinate(1, 1), makeCoordinate(5, 1)));
+		assertThrows(IllegalArgumentException.class,
+				() -> one.withMove(makeCoordinate(5, 1), makeCoordinate(5, 1)));
+		assertNotNull(one.getPieceAt(makeCoordinate(5, 1)));
+	}
+	
+	@Test
+	void largeDimensionsKeepSquaresApart()
+	{
+		ChessPiece wr = factory.makePiece(WHITEROOK);
+		ChessPiece bn = factory.makePiece(BLACKKNIGHT);
+		BoardSnapshot s = BoardSnapshot.empty(100000, 100000)
+				.with(wr, makeCoordinate(50000, 50000))
+				.with(bn, makeCoordinate(10000, 5));
+		assertSame(wr, s.getPieceAt(makeCoordinate(50000, 50000)));
+		assertSame(bn, s.getPieceAt(makeCoordinate(10000, 5)));
+		assertNull(s.getPieceAt(makeCoordinate(7051, 25653)));
+		assertEquals(Arrays.asList(makeCoordinate(50000, 50000)), s.getLocations(WHITEROOK));
+		assertEquals(Arrays.asList(makeCoordinate(10000, 5)), s.getLocations(BLACKKNIGHT));
+		BoardSnapshot moved = s.withMove(makeCoordinate(50000, 50000), makeCoordinate(50000, 90000));
+		assertSame(wr, moved.getPieceAt(makeCoordinate(50000, 90000)));
+		assertNull(moved.getPieceAt(makeCoordinate(50000, 50000)));
+	}
+	
+	@Test
+	void matchesTheBoardItWasTakenFrom()
+	{
+		Board b = new Board(8, 8, Arrays.asList(
+				makeSquareInitializer(factory.makePiece(WHITEKING), makeCoordinate(1, 5)),
+				makeSquareInitializer(factory.makePiece(BLACKPAWN), makeCoordinate(7, 3)),
+				makeSquareInitializer(factory.makePiece(BLACKROOK), makeCoordinate(12, 12))));
+		b.setHasMoved(makeCoordinate(7, 3));
+		b.setHasMoved(makeCoordinate(12, 12));
+		BoardSnapshot s = BoardSnapshot.of(b);
+		assertEquals(b.positionHash(), s.positionHash());
+		assertSame(b.getPieceAt(makeCoordinate(12, 12)), s.getPieceAt(makeCoordinate(12, 12)));
+		assertTrue(s.hasMoved(makeCoordinate(12, 12)));
+		assertTrue(s.hasMoved(makeCoordinate(7, 3)));
+		assertFalse(s.hasMoved(makeCoordinate(1, 5)));
+		
+		b.putPieceAt(null, makeCoordinate(7, 3));
+		assertEquals(b.positionHash(), s.with(null, makeCoordinate(7, 3)).positionHash());
+	}
+	
+	@Test
+	void piecesValidateAgainstSnapshots()
+	{
+		ChessPiece wq = factory.makePiece(WHITEQUEEN);
+		BoardSnapshot s = BoardSnapshot.empty(8, 8)
+				.with(wq, makeCoordinate(1, 4))
+				.with(factory.makePiece(WHITEPAWN), makeCoordinate(3, 6));
+		assertTrue(wq.canMove(makeCoordinate(1, 4), makeCoordinate(2, 5), s));
+		assertFalse(wq.canMove(makeCoordinate(1, 4), makeCoordinate(4, 7), s));
+		assertTrue(s.canReach(makeCoordinate(1, 4), makeCoordinate(8, 4)));
+	}
+	
+	@Test
+	void cannotBeChanged()
+	{
+		BoardSnapshot s = BoardSnapshot.empty(8, 8);
+		assertThrows(UnsupportedOperationException.class,
+				() -> s.putPieceAt(factory.makePiece(WHITEPAWN), makeCoordinate(2, 1)));
+		assertThrows(UnsupportedOperationException.class,
+				() -> s.setHasMoved(makeCoordinate(2, 1)));
+	}
+	
+	@Test
+	void publishOnlyReplacesTheExpectedVersion()
+	{
+		BoardSnapshot first = BoardSnapshot.empty(8, 8);
+		PublishedBoard board = new PublishedBoard(first);
+		BoardSnapshot second = board.update(
+				s -> s.with(factory.makePiece(BLACKKING), makeCoordinate(8, 5)));
+		assertSame(second, board.current());
+		assertFalse(board.publish(first, first.with(null, makeCoordinate(1, 1))));
+		assertSame(second, board.current());
+		assertNull(first.getPieceAt(makeCoordinate(8, 5)));
+	}
+}
@@ -15,10 +15,12 @@ package gpv.util;
 import static gpv.chess.ChessPieceDescriptor.*;
 import static gpv.util.Coordinate.makeCoordinate;
 import static gpv.util.SquareInitializer.makeSquareInitializer;
-import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.util.*;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.*;
+import gpv.Piece;
 import gpv.chess.*;
 
 /**
@@ -61,6 +63,273 @@ class BoardTests
 		assertNotNull(theBoard.getPieceAt(makeCoordinate(6, 0)));
 	}
 
+	@Test
+	void putPieceReturnsPreviousPiece()
+	{
+		ChessPiece wp = factory.makePiece(WHITEPAWN);
+		ChessPiece bp = factory.makePiece(BLACKPAWN);
+		assertNull(theBoard.putPieceAt(wp, makeCoordinate(8, 8)));
+		assertEquals(wp, theBoard.putPieceAt(bp, makeCoordinate(8, 8)));
+		assertEquals(bp, theBoard.putPieceAt(null, makeCoordinate(8, 8)));
+		assertFalse(theBoard.isSpaceOccupied(makeCoordinate(8, 8)));
+	}
+	
+	@Test
+	void pieceOutsideOfBoardDimensions()
+	{
+		List<SquareInitializer> initializers = makeInitializers(
+				WHITEPAWN, 10, 3,
+				BLACKPAWN, -1, 2);
+		theBoard.reset(initializers);
+		assertNotNull(theBoard.getPieceAt(makeCoordinate(10, 3)));
+		assertNotNull(theBoard.getPieceAt(makeCoordinate(-1, 2)));
+		theBoard.reset(new ArrayList<SquareInitializer>());
+		assertNull(theBoard.getPieceAt(makeCoordinate(10, 3)));
+	}
+
+	@Test
+	void positionHashIgnoresOrderOfPlacement()
+	{
+		Board other = new Board(8, 8);
+		theBoard.reset(makeInitializers(WHITEPAWN, 2, 1, BLACKKING, 8, 5));
+		other.reset(makeInitializers(BLACKKING, 8, 5, WHITEPAWN, 2, 1));
+		assertEquals(theBoard.positionHash(), other.positionHash());
+		assertNotEquals(0L, theBoard.positionHash());
+	}
+	
+	@Test
+	void positionHashFollowsMoves()
+	{
+		theBoard.reset(makeInitializers(WHITEPAWN, 2, 1, BLACKKING, 8, 5));
+		long start = theBoard.positionHash();
+		Piece p = theBoard.putPieceAt(null, makeCoordinate(2, 1));
+		theBoard.putPieceAt(p, makeCoordinate(3, 1));
+		assertNotEquals(start, theBoard.positionHash());
+		theBoard.setHasMoved(makeCoordinate(3, 1));
+		long moved = theBoard.positionHash();
+		theBoard.putPieceAt(null, makeCoordinate(3, 1));
+		theBoard.putPieceAt(p, makeCoordinate(2, 1));
+		assertEquals(start, theBoard.positionHash());
+		assertNotEquals(start, moved);
+		theBoard.reset(new ArrayList<SquareInitializer>());
+		assertEquals(0L, theBoard.positionHash());
+	}
+
+	@Test
+	void undoMoveRestoresThePosition()
+	{
+		theBoard.reset(makeInitializers(WHITEROOK, 1, 1, BLACKKNIGHT, 5, 1, BLACKKING, 8, 5));
+		theBoard.setHasMoved(makeCoordinate(5, 1));
+		long start = theBoard.positionHash();
+		Piece rook = theBoard.getPieceAt(makeCoordinate(1, 1));
+		Piece knight = theBoard.getPieceAt(makeCoordinate(5, 1));
+		
+		assertSame(knight, theBoard.applyMove(makeCoordinate(1, 1), makeCoordinate(5, 1)));
+		assertNull(theBoard.applyMove(makeCoordinate(8, 5), makeCoordinate(7, 5)));
+		assertEquals(2, theBoard.getUndoDepth());
+		assertSame(rook, theBoard.getPieceAt(makeCoordinate(5, 1)));
+		assertTrue(theBoard.hasMoved(makeCoordinate(5, 1)));
+		
+		theBoard.undoMove();
+		theBoard.undoMove();
+		assertEquals(0, theBoard.getUndoDepth());
+		assertSame(rook, theBoard.getPieceAt(makeCoordinate(1, 1)));
+		assertSame(knight, theBoard.getPieceAt(makeCoordinate(5, 1)));
+		assertFalse(theBoard.hasMoved(makeCoordinate(1, 1)));
+		assertTrue(theBoard.hasMoved(makeCoordinate(5, 1)));
+		assertNull(theBoard.getPieceAt(makeCoordinate(7, 5)));
+		assertEquals(start, theBoard.positionHash());
+	}
+	
+	@Test
+	void undoMoveOutsideTheDenseSquares()
+	{
+		theBoard.reset(makeInitializers(WHITEROOK, 1, 1, BLACKKNIGHT, 1, 200));
+		long start = theBoard.positionHash();
+		theBoard.applyMove(makeCoordinate(1, 1), makeCoordinate(1, 200));
+		theBoard.applyMove(makeCoordinate(1, 200), makeCoordinate(300, 200));
+		theBoard.undoMove();
+		theBoard.undoMove();
+		assertNotNull(theBoard.getPieceAt(makeCoordinate(1, 1)));
+		assertNotNull(theBoard.getPieceAt(makeCoordinate(1, 200)));
+		assertNull(theBoard.getPieceAt(makeCoordinate(300, 200)));
+		assertEquals(start, theBoard.positionHash());
+	}
+	
+	@Test
+	void undoMoveWhereTheIndexDoesNotRoundTrip()
+	{
+		Board b = new Board(8, 8) {
+			@Override
+			public int columnOf(int index)
+			{
+				return super.columnOf(index) + 1;
+			}
+		};
+		b.reset(makeInitializers(WHITEROOK, 1, 1, BLACKKNIGHT, 1, 5));
+		long start = b.positionHash();
+		b.applyMove(makeCoordinate(1, 1), makeCoordinate(1, 5));
+		b.undoMove();
+		assertNotNull(b.getPieceAt(makeCoordinate(1, 1)));
+		assertNotNull(b.getPieceAt(makeCoordinate(1, 5)));
+		assertNull(b.getPieceAt(makeCoordinate(1, 2)));
+		assertNull(b.getPieceAt(makeCoordinate(1, 6)));
+		assertEquals(start, b.positionHash());
+	}
+	
+	@Test
+	void undoMoveWithoutAMove()
+	{
+		theBoard.reset(makeInitializers(WHITEPAWN, 2, 1));
+		theBoard.applyMove(makeCoordinate(2, 1), makeCoordinate(3, 1));
+		theBoard.reset(makeInitializers(WHITEPAWN, 2, 1));
+		assertThrows(IllegalStateException.class, () -> theBoard.undoMove());
+		assertThrows(IllegalArgumentException.class, 
+				() -> theBoard.applyMove(makeCoordinate(4, 4), makeCoordinate(5, 4)));
+	}
+
+	@Test
+	void pathClearOnlyLooksBetweenTheSquares()
+	{
+		theBoard.reset(makeInitializers(WHITEROOK, 1, 1, BLACKPAWN, 1, 5, WHITEPAWN, 4, 4));
+		assertTrue(theBoard.isPathClear(1, 1, 1, 5));
+		assertFalse(theBoard.isPathClear(1, 1, 1, 6));
+		assertTrue(theBoard.isPathClear(1, 1, 8, 1));
+		assertFalse(theBoard.isPathClear(1, 1, 6, 6));
+		assertTrue(theBoard.isPathClear(1, 1, 2, 2));
+		assertFalse(theBoard.isPathClear(1, 1, 2, 3));
+		assertFalse(theBoard.isPathClear(1, 1, 1, 1));
+	}
+	
+	@Test
+	void pathClearAgreesOnEveryKindOfBoard()
+	{
+		int size = 20;
+		Board big = new Board(size, size);
+		BoardSnapshot snapshot = BoardSnapshot.empty(size, size);
+		Random random = new Random(7);
+		for (int i = 0; i < 60; i++) {
+			Coordinate c = makeCoordinate(random.nextInt(size) + 1, random.nextInt(size) + 1);
+			Piece p = factory.makePiece(WHITEPAWN);
+			big.putPieceAt(p, c);
+			snapshot = snapshot.with(p, c);
+		}
+		for (int i = 0; i < 5000; i++) {
+			int fromRow = random.nextInt(size) + 1;
+			int fromColumn = random.nextInt(size) + 1;
+			int toRow = random.nextInt(size) + 1;
+			int toColumn = random.nextInt(size) + 1;
+			if (i % 2 == 0) {
+				toColumn = fromColumn + (toRow - fromRow);
+			}
+			assertEquals(snapshot.isPathClear(fromRow, fromColumn, toRow, toColumn),
+					big.isPathClear(fromRow, fromColumn, toRow, toColumn));
+		}
+	}
+
+	@Test
+	void pathClearOnLongLines()
+	{
+		int size = 150;
+		Board big = new Board(size, size);
+		Random random = new Random(11);
+		for (int i = 0; i < 400; i++) {
+			big.putPieceAt(factory.makePiece(BLACKPAWN), 
+					makeCoordinate(random.nextInt(size) + 1, random.nextInt(size) + 1));
+		}
+		checkPathsAlongLines(big, random);
+		big.setnRows(size + 70);
+		big.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(size + 50, 40));
+		checkPathsAlongLines(big, random);
+	}
+	
+	/**
+	 * Compare isPathClear with a square by square walk along all eight directions.
+	 * @param b the board
+	 * @param random where to start and how far to go
+	 */
+	private void checkPathsAlongLines(Board b, Random random)
+	{
+		int[][] directions = { {0, 1}, {1, 0}, {1, 1}, {1, -1}, {0, -1}, {-1, 0}, {-1, -1}, {-1, 1} };
+		for (int i = 0; i < 4000; i++) {
+			int[] d = directions[i % directions.length];
+			int row = random.nextInt(b.nRows) + 1;
+			int column = random.nextInt(b.nColumns) + 1;
+			int distance = random.nextInt(140) + 1;
+			int toRow = row + d[0] * distance;
+			int toColumn = column + d[1] * distance;
+			if (toRow < 1 || toRow > b.nRows || toColumn < 1 || toColumn > b.nColumns) {
+				continue;
+			}
+			boolean clear = true;
+			for (int step = 1; step < distance; step++) {
+				clear &= !b.isSpaceOccupied(row + d[0] * step, column + d[1] * step);
+			}
+			assertEquals(clear, b.isPathClear(row, column, toRow, toColumn));
+		}
+	}
+
+	@Test
+	void locationsFollowPlacements()
+	{
+		theBoard.reset(makeInitializers(WHITEPAWN, 2, 1, WHITEPAWN, 2, 2, BLACKKING, 8, 5, WHITEPAWN, 12, 3));
+		assertEquals(3, theBoard.getPieceCount(WHITEPAWN));
+		assertEquals(Arrays.asList(makeCoordinate(8, 5)), theBoard.getLocations(BLACKKING));
+		theBoard.putPieceAt(null, makeCoordinate(2, 1));
+		theBoard.putPieceAt(factory.makePiece(BLACKQUEEN), makeCoordinate(2, 2));
+		assertEquals(new HashSet<Coordinate>(Arrays.asList(makeCoordinate(12, 3))), 
+				new HashSet<Coordinate>(theBoard.getLocations(WHITEPAWN)));
+		assertEquals(0, theBoard.getSquareIndices(WHITEPAWN).length);
+		assertArrayEquals(new int[] { theBoard.squareIndex(2, 2) }, theBoard.getSquareIndices(BLACKQUEEN));
+		theBoard.setnRows(12);
+		assertArrayEquals(new int[] { theBoard.squareIndex(12, 3) }, theBoard.getSquareIndices(WHITEPAWN));
+		theBoard.reset(new ArrayList<SquareInitializer>());
+		assertEquals(0, theBoard.getPieceCount(BLACKQUEEN));
+		assertTrue(theBoard.getLocations(WHITEPAWN).isEmpty());
+	}
+	
+	@Test
+	void locationsAgreeOnEveryKindOfBoard()
+	{
+		Random random = new Random(5);
+		ChessPieceDescriptor[] descriptors = ChessPieceDescriptor.values();
+		for (int i = 0; i < 200; i++) {
+			Coordinate c = makeCoordinate(random.nextInt(8) + 1, random.nextInt(8) + 1);
+			boolean empty = random.nextInt(3) == 0;
+			theBoard.putPieceAt(empty ? null : factory.makePiece(descriptors[random.nextInt(12)]), c);
+		}
+		OverlayBoard overlay = new OverlayBoard(theBoard);
+		overlay.putPieceAt(factory.makePiece(WHITEKING), makeCoordinate(4, 4));
+		overlay.putPieceAt(null, makeCoordinate(5, 5));
+		Board[] boards = { BoardSnapshot.of(overlay), new SparseBoard(8, 8, initializersOf(overlay)),
+				new ConcurrentBoard(8, 8, initializersOf(overlay)), 
+				new ChessBitboard(initializersOf(overlay)) };
+		for (ChessPieceDescriptor d : descriptors) {
+			Set<Coordinate> expected = new HashSet<Coordinate>(overlay.getLocations(d));
+			assertEquals(expected.size(), overlay.getLocations(d).size());
+			for (Board b : boards) {
+				assertEquals(expected, new HashSet<Coordinate>(b.getLocations(d)));
+				assertEquals(expected.size(), b.getPieceCount(d));
+			}
+		}
+	}
+	
+	/**
+	 * @param b a board
+	 * @return initializers for the pieces on the board's squares
+	 */
+	private static List<SquareInitializer> initializersOf(Board b)
+	{
+		List<SquareInitializer> initializers = new ArrayList<SquareInitializer>();
+		for (int ix = 0; ix < b.squareCount(); ix++) {
+			Coordinate c = makeCoordinate(b.rowOf(ix), b.columnOf(ix));
+			if (b.getPieceAt(c) != null) {
+				initializers.add(makeSquareInitializer(b.getPieceAt(c), c));
+			}
+		}
+		return initializers;
+	}
+
 	// Helper methods
 	private List<SquareInitializer> makeInitializers(Object... params)
 	{
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.*;
+import gpv.Piece;
+import gpv.chess.*;
+
+/**
+ * Tests for the thread-safe board.
+ * @version Oct 18, 2026
+ */
+class ConcurrentBoardTests
+{
+	private static ChessPieceFactory factory = null;
+	private ConcurrentBoard theBoard;
+	
+	@BeforeAll
+	public static void setupBeforeTests()
+	{
+		factory = new ChessPieceFactory();
+	}
+	
+	@BeforeEach
+	public void setup()
+	{
+		theBoard = new ConcurrentBoard(8, 8);
+	}
+	
+	@Test
+	void behavesAsABoard()
+	{
+		ChessPiece wr = factory.makePiece(WHITEROOK);
+		assertNull(theBoard.putPieceAt(wr, makeCoordinate(1, 1)));
+		assertSame(wr, theBoard.getPieceAt(makeCoordinate(1, 1)));
+		assertTrue(theBoard.isSpaceOccupied(makeCoordinate(1, 1)));
+		assertTrue(theBoard.canMove(makeCoordinate(1, 1), makeCoordinate(8, 1)));
+		assertFalse(theBoard.canMove(makeCoordinate(1, 1), makeCoordinate(2, 2)));
+		assertFalse(theBoard.canMove(makeCoordinate(2, 2), makeCoordinate(3, 3)));
+	}
+	
+	@Test
+	void applyMoveMarksThePieceAsMovedAndUndoes()
+	{
+		ChessPiece wr = factory.makePiece(WHITEROOK);
+		ChessPiece bn = factory.makePiece(BLACKKNIGHT);
+		theBoard.putPieceAt(wr, makeCoordinate(1, 1));
+		theBoard.putPieceAt(bn, makeCoordinate(5, 1));
+		assertSame(bn, theBoard.applyMove(makeCoordinate(1, 1), makeCoordinate(5, 1)));
+		assertNull(theBoard.getPieceAt(makeCoordinate(1, 1)));
+		assertSame(wr, theBoard.getPieceAt(makeCoordinate(5, 1)));
+		assertTrue(theBoard.hasMoved(makeCoordinate(5, 1)));
+		theBoard.undoMove();
+		assertSame(wr, theBoard.getPieceAt(makeCoordinate(1, 1)));
+		assertSame(bn, theBoard.getPieceAt(makeCoordinate(5, 1)));
+	}
+	
+	@Test
+	void applyMoveInsideUpdate()
+	{
+		ChessPiece wr = factory.makePiece(WHITEROOK);
+		theBoard.putPieceAt(wr, makeCoordinate(1, 1));
+		theBoard.update(b -> {
+			b.applyMove(makeCoordinate(1, 1), makeCoordinate(1, 8));
+			b.setHasMoved(makeCoordinate(1, 8));
+		});
+		assertSame(wr, theBoard.getPieceAt(makeCoordinate(1, 8)));
+		assertEquals(1, theBoard.getUndoDepth());
+	}
+	
+	@Test
+	void updateCanReadItsOwnChanges()
+	{
+		ChessPiece wq = factory.makePiece(WHITEQUEEN);
+		theBoard.update(b -> {
+			b.putPieceAt(wq, makeCoordinate(1, 4));
+			assertSame(wq, b.getPieceAt(makeCoordinate(1, 4)));
+			assertTrue(theBoard.canMove(makeCoordinate(1, 4), makeCoordinate(4, 7)));
+		});
+		assertSame(wq, theBoard.getPieceAt(makeCoordinate(1, 4)));
+	}
+	
+	@Test
+	void cannotCacheReachability()
+	{
+		theBoard.setReachabilityCaching(false);
+		assertThrows(UnsupportedOperationException.class,
+				() -> theBoard.setReachabilityCaching(true));
+	}
+	
+	@Test
+	void readersNeverSeeHalfAMove() throws InterruptedException
+	{
+		ChessPiece wk = factory.makePiece(WHITEKING);
+		Coordinate a = makeCoordinate(1, 5);
+		Coordinate b = makeCoordinate(2, 5);
+		theBoard.putPieceAt(wk, a);
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicBoolean torn = new AtomicBoolean();
+		Thread[] readers = new Thread[3];
+		for (int i = 0; i < readers.length; i++) {
+			readers[i] = new Thread(() -> {
+				while (!done.get()) {
+					int pieces = theBoard.read(board -> 
+						(board.isSpaceOccupied(a) ? 1 : 0) + (board.isSpaceOccupied(b) ? 1 : 0));
+					if (pieces != 1) {
+						torn.set(true);
+					}
+				}
+			});
+			readers[i].start();
+		}
+		for (int i = 0; i < 20000; i++) {
+			Coordinate from = i % 2 == 0 ? a : b;
+			Coordinate to = i % 2 == 0 ? b : a;
+			theBoard.update(board -> {
+				Piece p = board.putPieceAt(null, from);
+				board.putPieceAt(p, to);
+			});
+		}
+		done.set(true);
+		for (Thread t : readers) {
+			t.join();
+		}
+		assertFalse(torn.get());
+	}
+}
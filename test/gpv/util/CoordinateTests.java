@@ -33,6 +33,23 @@ class CoordinateTests
 		assertEquals(expected, makeCoordinate(x1, y1).distanceTo(makeCoordinate(x2, y2)));
 	}
 	
+	@Test
+	void coordinatesAreNotShared()
+	{
+		Coordinate c = makeCoordinate(3, 4);
+		assertNotSame(c, makeCoordinate(3, 4));
+		assertEquals(c, makeCoordinate(3, 4));
+		c.x = 5;
+		assertEquals(3, makeCoordinate(3, 4).getRow());
+	}
+	
+	@Test
+	void coordinatesAreImmutable()
+	{
+		assertThrows(UnsupportedOperationException.class, () -> makeCoordinate(3, 4).translate(1, 1));
+		assertEquals(3, makeCoordinate(3, 4).getRow());
+	}
+	
 	static Stream<Arguments> distanceProvider()
 	{
 		return Stream.of(
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import static gpv.util.Coordinate.makeCoordinate;
+import static gpv.util.Location.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+/**
+ * Tests for the lightweight Location.
+ * @version Oct 18, 2026
+ */
+class LocationTests
+{
+	@ParameterizedTest
+	@MethodSource("locationProvider")
+	void packAndUnpack(int row, int column)
+	{
+		long packed = pack(row, column);
+		assertEquals(row, packedRow(packed));
+		assertEquals(column, packedColumn(packed));
+		assertEquals(makeLocation(row, column), unpack(packed));
+	}
+	
+	static Stream<Arguments> locationProvider()
+	{
+		return Stream.of(
+				Arguments.of(1, 1),
+				Arguments.of(8, 8),
+				Arguments.of(0, -1),
+				Arguments.of(-5, 3000),
+				Arguments.of(100000, 70000),
+				Arguments.of(Integer.MAX_VALUE, Integer.MIN_VALUE),
+				Arguments.of(Integer.MIN_VALUE, -1),
+				Arguments.of(-1, Integer.MAX_VALUE)
+		);
+	}
+	
+	@Test
+	void convertsToAndFromCoordinate()
+	{
+		Location l = makeLocation(3, 7);
+		assertEquals(makeCoordinate(3, 7), l.toCoordinate());
+		assertEquals(l, makeCoordinate(3, 7).toLocation());
+		assertEquals(l.hashCode(), fromCoordinate(makeCoordinate(3, 7)).hashCode());
+	}
+	
+	@Test
+	void locationsAreInterned()
+	{
+		assertSame(makeLocation(3, 4), makeLocation(3, 4));
+		assertSame(makeLocation(0, -1), fromCoordinate(makeCoordinate(0, -1)));
+		assertSame(makeLocation(8, 8), unpack(pack(8, 8)));
+		assertEquals(makeLocation(100, 4), makeLocation(100, 4));
+	}
+	
+	@Test
+	void largeRowsAndColumnsStayApart()
+	{
+		assertNotEquals(makeLocation(65536, 0), makeLocation(0, 0));
+		assertNotEquals(pack(65536, 0), pack(0, 0));
+		assertNotEquals(pack(0, -1), pack(-1, -1));
+		Location far = makeLocation(Integer.MAX_VALUE, Integer.MIN_VALUE);
+		assertEquals(far, far.toCoordinate().toLocation());
+		assertEquals(Integer.MAX_VALUE, far.getRow());
+		assertEquals(Integer.MIN_VALUE, far.getColumn());
+	}
+}
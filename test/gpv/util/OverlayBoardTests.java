@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static gpv.util.SquareInitializer.makeSquareInitializer;
+import static org.junit.Assert.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import gpv.Piece;
+import gpv.chess.*;
+
+/**
+ * Tests for boards made of changes to another board.
+ * @version Oct 18, 2026
+ */
+class OverlayBoardTests
+{
+	private static ChessPieceFactory factory = null;
+	private Board base;
+	private OverlayBoard overlay;
+	
+	@BeforeAll
+	public static void setupBeforeTests()
+	{
+		factory = new ChessPieceFactory();
+	}
+	
+	@BeforeEach
+	public void setup()
+	{
+		base = new Board(8, 8, Arrays.asList(
+				makeSquareInitializer(factory.makePiece(WHITEROOK), makeCoordinate(1, 1)),
+				makeSquareInitializer(factory.makePiece(WHITEPAWN), makeCoordinate(2, 1)),
+				makeSquareInitializer(factory.makePiece(BLACKKING), makeCoordinate(8, 5))));
+		overlay = new OverlayBoard(base);
+	}
+	
+	@Test
+	void changesDoNotReachTheBase()
+	{
+		Piece pawn = overlay.getPieceAt(makeCoordinate(2, 1));
+		overlay.applyMove(makeCoordinate(2, 1), makeCoordinate(4, 1));
+		assertSame(pawn, overlay.getPieceAt(makeCoordinate(4, 1)));
+		assertFalse(overlay.isSpaceOccupied(makeCoordinate(2, 1)));
+		assertTrue(overlay.hasMoved(makeCoordinate(4, 1)));
+		assertEquals(2, overlay.changeCount());
+		
+		assertSame(pawn, base.getPieceAt(makeCoordinate(2, 1)));
+		assertNull(base.getPieceAt(makeCoordinate(4, 1)));
+		assertFalse(base.hasMoved(makeCoordinate(4, 1)));
+	}
+	
+	@Test
+	void piecesValidateAgainstTheChanges()
+	{
+		ChessPiece rook = (ChessPiece) overlay.getPieceAt(makeCoordinate(1, 1));
+		assertFalse(rook.canMove(makeCoordinate(1, 1), makeCoordinate(5, 1), overlay));
+		overlay.applyMove(makeCoordinate(2, 1), makeCoordinate(2, 2));
+		assertTrue(rook.canMove(makeCoordinate(1, 1), makeCoordinate(5, 1), overlay));
+		assertFalse(rook.canMove(makeCoordinate(1, 1), makeCoordinate(5, 1), base));
+	}
+	
+	@Test
+	void hashMatchesTheSamePositionOnABoard()
+	{
+		overlay.applyMove(makeCoordinate(1, 1), makeCoordinate(1, 4));
+		overlay.putPieceAt(null, makeCoordinate(8, 5));
+		Board b = BoardSnapshot.empty(8, 8)
+				.with(base.getPieceAt(makeCoordinate(2, 1)), makeCoordinate(2, 1))
+				.with(base.getPieceAt(makeCoordinate(1, 1)), makeCoordinate(1, 4))
+				.withMoved(makeCoordinate(1, 4));
+		assertEquals(b.positionHash(), overlay.positionHash());
+	}
+	
+	@Test
+	void undoAndRevertRestoreTheBase()
+	{
+		long start = overlay.positionHash();
+		overlay.applyMove(makeCoordinate(1, 1), makeCoordinate(1, 4));
+		overlay.applyMove(makeCoordinate(8, 5), makeCoordinate(7, 5));
+		overlay.undoMove();
+		overlay.undoMove();
+		assertEquals(start, overlay.positionHash());
+		assertFalse(overlay.hasMoved(makeCoordinate(1, 1)));
+		
+		overlay.applyMove(makeCoordinate(1, 1), makeCoordinate(1, 4));
+		overlay.revert();
+		assertEquals(0, overlay.changeCount());
+		assertEquals(0, overlay.getUndoDepth());
+		assertEquals(base.positionHash(), overlay.positionHash());
+		assertNotNull(overlay.getPieceAt(makeCoordinate(1, 1)));
+	}
+	
+	@Test
+	void undoOnALargeBase()
+	{
+		SparseBoard large = new SparseBoard(100000, 100000);
+		Piece rook = factory.makePiece(WHITEROOK);
+		large.putPieceAt(rook, makeCoordinate(50000, 50000));
+		OverlayBoard big = new OverlayBoard(large);
+		long start = big.positionHash();
+		assertEquals(large.squareIndex(50000, 50000), big.squareIndex(50000, 50000));
+		assertEquals(large.squareCount(), big.squareCount());
+		
+		big.applyMove(makeCoordinate(50000, 50000), makeCoordinate(50000, 90000));
+		big.undoMove();
+		assertSame(rook, big.getPieceAt(makeCoordinate(50000, 50000)));
+		assertNull(big.getPieceAt(makeCoordinate(50000, 90000)));
+		assertNull(big.getPieceAt(makeCoordinate(7051, 25653)));
+		assertEquals(start, big.positionHash());
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import gpv.Piece;
+import gpv.chess.*;
+
+/**
+ * Tests for the sparse board.
+ * @version Oct 18, 2026
+ */
+class SparseBoardTests
+{
+	private static ChessPieceFactory factory = null;
+	
+	@BeforeAll
+	public static void setupBeforeTests()
+	{
+		factory = new ChessPieceFactory();
+	}
+	
+	@Test
+	void nextOccupiedAlongEveryDirection()
+	{
+		SparseBoard b = new SparseBoard(1000000, 1000000);
+		b.putPieceAt(factory.makePiece(WHITEROOK), makeCoordinate(500000, 500000));
+		b.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(500000, 900000));
+		b.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(3, 500000));
+		b.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(500100, 500100));
+		b.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(499000, 501000));
+		assertEquals(makeCoordinate(500000, 900000), b.nextOccupied(500000, 500000, 0, 1));
+		assertNull(b.nextOccupied(500000, 500000, 0, -1));
+		assertEquals(makeCoordinate(3, 500000), b.nextOccupied(500000, 500000, -1, 0));
+		assertEquals(makeCoordinate(500100, 500100), b.nextOccupied(500000, 500000, 1, 1));
+		assertEquals(makeCoordinate(499000, 501000), b.nextOccupied(500000, 500000, -1, 1));
+		assertEquals(5, b.getPieceCount());
+		
+		ChessPiece rook = (ChessPiece) b.getPieceAt(makeCoordinate(500000, 500000));
+		assertTrue(rook.canMove(makeCoordinate(500000, 500000), makeCoordinate(500000, 900000), b));
+		assertFalse(rook.canMove(makeCoordinate(500000, 500000), makeCoordinate(500000, 900001), b));
+		assertTrue(rook.canMove(makeCoordinate(500000, 500000), makeCoordinate(1000000, 500000), b));
+	}
+	
+	@Test
+	void agreesWithABoard()
+	{
+		int size = 24;
+		Board dense = new Board(size, size);
+		SparseBoard sparse = new SparseBoard(size, size);
+		Random random = new Random(3);
+		ChessPieceDescriptor[] descriptors = ChessPieceDescriptor.values();
+		for (int i = 0; i < 3000; i++) {
+			Coordinate c = makeCoordinate(random.nextInt(size) + 1, random.nextInt(size) + 1);
+			int action = random.nextInt(4);
+			if (action == 0) {
+				assertEquals(dense.putPieceAt(null, c), sparse.putPieceAt(null, c));
+			} else if (action == 1) {
+				if (dense.isSpaceOccupied(c)) {
+					dense.setHasMoved(c);
+					sparse.setHasMoved(c);
+				}
+			} else {
+				Piece p = factory.makePiece(descriptors[random.nextInt(descriptors.length)]);
+				assertEquals(dense.putPieceAt(p, c), sparse.putPieceAt(p, c));
+			}
+			assertEquals(dense.positionHash(), sparse.positionHash());
+		}
+		for (int i = 0; i < 20000; i++) {
+			Coordinate from = makeCoordinate(random.nextInt(size) + 1, random.nextInt(size) + 1);
+			Coordinate to = makeCoordinate(random.nextInt(size) + 1, random.nextInt(size) + 1);
+			assertEquals(dense.getPieceAt(from), sparse.getPieceAt(from));
+			assertEquals(dense.hasMoved(from), sparse.hasMoved(from));
+			assertEquals(dense.isPathClear(from.getRow(), from.getColumn(), to.getRow(), to.getColumn()),
+					sparse.isPathClear(from.getRow(), from.getColumn(), to.getRow(), to.getColumn()));
+			Piece p = dense.getPieceAt(from);
+			if (p != null) {
+				assertEquals(p.canMove(from, to, dense), p.canMove(from, to, sparse));
+			}
+		}
+	}
+	
+	@Test
+	void generateMovesOnALargeBoard()
+	{
+		SparseBoard b = new SparseBoard(100000, 100000);
+		Coordinate from = makeCoordinate(10, 10);
+		ChessPiece rook = factory.makePiece(WHITEROOK);
+		b.putPieceAt(rook, from);
+		b.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(10, 50000));
+		b.putPieceAt(factory.makePiece(WHITEPAWN), makeCoordinate(5, 10));
+		int[] moves = rook.generateMoves(from, b);
+		
+		// Up the column only the rows whose squares still have an int index
+		int lastRow = (Integer.MAX_VALUE - 10) / 100001;
+		assertEquals(49990 + 9 + (lastRow - 10) + 4, moves.length);
+		for (int ix : moves) {
+			assertTrue(ix >= 0);
+			assertTrue(rook.canMove(from, makeCoordinate(b.rowOf(ix), b.columnOf(ix)), b));
+		}
+		assertEquals(-1, b.squareIndex(lastRow + 1, 10));
+	}
+	
+	@Test
+	void distantSquaresHashDifferently()
+	{
+		SparseBoard near = new SparseBoard(1000000, 1000000);
+		SparseBoard far = new SparseBoard(1000000, 1000000);
+		near.putPieceAt(factory.makePiece(WHITEROOK), makeCoordinate(1, 5));
+		far.putPieceAt(factory.makePiece(WHITEROOK), makeCoordinate(1, 65541));
+		assertNotEquals(near.positionHash(), far.positionHash());
+		near.setHasMoved(makeCoordinate(1, 5));
+		far.setHasMoved(makeCoordinate(1, 65541));
+		assertNotEquals(near.positionHash(), far.positionHash());
+	}
+	
+	@Test
+	void removingPiecesDropsTheirLines()
+	{
+		SparseBoard b = new SparseBoard(Integer.MAX_VALUE, Integer.MAX_VALUE);
+		for (int i = 1; i <= 100; i++) {
+			b.putPieceAt(factory.makePiece(WHITEKNIGHT), makeCoordinate(i * 1000, i * 7));
+		}
+		for (int i = 1; i <= 100; i += 2) {
+			b.putPieceAt(null, makeCoordinate(i * 1000, i * 7));
+		}
+		assertEquals(50, b.getPieceCount());
+		for (int i = 1; i <= 100; i++) {
+			assertEquals(i % 2 == 0, b.isSpaceOccupied(i * 1000, i * 7));
+		}
+		b.reset(new ArrayList<SquareInitializer>());
+		assertEquals(0, b.getPieceCount());
+		assertEquals(0L, b.positionHash());
+	}
+}